@@ -0,0 +1,129 @@
+package com.innowise.orderservice.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * @ClassName AdaptiveConcurrencyLimiter
+ * @Description Gradient concurrency limit for one class of endpoints. The limit follows the ratio of the long-term
+ * to the short-term request latency: while requests answer as fast as usual it grows by its square root per
+ * sample window, and once they start to queue it shrinks in proportion to the slowdown.
+ * @Author dshparko
+ * @Date 17.10.2026 21:10
+ * @Version 1.0
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    static final int SAMPLE_WINDOW = 10;
+    private static final double LONG_RTT_ALPHA = 2.0 / (600 + 1);
+    private static final double SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double LONG_RTT_DRIFT = 2.0;
+    private static final double LONG_RTT_DECAY = 0.95;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejected;
+    private final ReentrantLock sampleLock = new ReentrantLock();
+
+    private volatile double limit;
+    private double longRttNanos;
+    private long windowRttNanos;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    /**
+     * @param endpoint  the endpoint class, used as the {@code endpoint} tag of the metrics
+     * @param tolerance how much slower than the long-term latency requests may get before the limit shrinks
+     */
+    public AdaptiveConcurrencyLimiter(String endpoint, int initialLimit, int minLimit, int maxLimit,
+                                      double tolerance, MeterRegistry meterRegistry) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        Gauge.builder("orders.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current concurrency limit")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        Gauge.builder("orders.concurrency.inflight", inFlight, AtomicInteger::get)
+                .description("Requests currently being served")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("orders.concurrency.rejected")
+                .description("Requests shed because the concurrency limit was reached")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a slot, unless as many requests as the limit allows are already in flight.
+     *
+     * @return {@code true} if the request may proceed; it must then be {@link #release released}
+     */
+    public boolean tryAcquire() {
+        int allowed = getLimit();
+        if (inFlight.getAndUpdate(current -> current < allowed ? current + 1 : current) < allowed) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * Frees the slot of a request that completed normally and feeds its latency into the limit.
+     */
+    public void release(long rttNanos) {
+        int servedWith = inFlight.getAndDecrement();
+        sampleLock.lock();
+        try {
+            windowRttNanos += rttNanos;
+            windowMaxInFlight = Math.max(windowMaxInFlight, servedWith);
+            if (++windowSamples == SAMPLE_WINDOW) {
+                updateLimit((double) windowRttNanos / windowSamples, windowMaxInFlight);
+                windowRttNanos = 0;
+                windowSamples = 0;
+                windowMaxInFlight = 0;
+            }
+        } finally {
+            sampleLock.unlock();
+        }
+    }
+
+    /**
+     * Frees the slot of a request that failed; a failure says nothing about queueing, so it is not sampled.
+     */
+    public void releaseIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void updateLimit(double shortRttNanos, int maxInFlight) {
+        longRttNanos = longRttNanos == 0 ? shortRttNanos
+                : longRttNanos * (1 - LONG_RTT_ALPHA) + shortRttNanos * LONG_RTT_ALPHA;
+        if (longRttNanos / shortRttNanos > LONG_RTT_DRIFT) {
+            // Load has dropped well below the one the long-term latency was learned under; let it catch up.
+            longRttNanos *= LONG_RTT_DECAY;
+        }
+        if (maxInFlight < limit / 2) {
+            // Traffic did not come near the limit, so the latency tells nothing about it.
+            return;
+        }
+        double gradient = Math.clamp(tolerance * longRttNanos / shortRttNanos, MIN_GRADIENT, 1.0);
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.clamp(limit * (1 - SMOOTHING) + target * SMOOTHING, minLimit, maxLimit);
+    }
+}
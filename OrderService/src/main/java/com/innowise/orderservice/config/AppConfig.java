@@ -1,13 +1,141 @@
 package com.innowise.orderservice.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 public class AppConfig {
+
+    private static final String USER_SERVICE_POOL = "user-service";
+
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient userServiceHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(userServiceHttpClient));
+    }
+
+    /**
+     * Keep-alive connection pool for user-service calls. Connect and socket (read) timeouts apply per connection,
+     * so a stuck upstream fails the call instead of holding the request thread forever.
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager userServiceConnectionManager(
+            @Value("${user-service.http.max-total}") int maxTotal,
+            @Value("${user-service.http.max-per-route}") int maxPerRoute,
+            @Value("${user-service.http.connect-timeout}") Duration connectTimeout,
+            @Value("${user-service.http.read-timeout}") Duration readTimeout,
+            @Value("${user-service.http.time-to-live}") Duration timeToLive,
+            MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setTimeToLive(TimeValue.of(timeToLive))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, USER_SERVICE_POOL).bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    /**
+     * The response timeout bounds the wait for a response once the request is sent, and the connection request
+     * timeout bounds the wait for a free pooled connection. Idle connections are evicted in the background.
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient userServiceHttpClient(
+            PoolingHttpClientConnectionManager userServiceConnectionManager,
+            @Value("${user-service.http.response-timeout}") Duration responseTimeout,
+            @Value("${user-service.http.connection-request-timeout}") Duration connectionRequestTimeout,
+            @Value("${user-service.http.idle-eviction}") Duration idleEviction) {
+        return HttpClients.custom()
+                .setConnectionManager(userServiceConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setResponseTimeout(Timeout.of(responseTimeout))
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .build())
+                .evictIdleConnections(TimeValue.of(idleEviction))
+                .evictExpiredConnections()
+                .build();
+    }
+
+    /**
+     * Non-blocking client for user-service. It shares the pool limits and timeouts of the blocking client,
+     * but keeps its own Reactor Netty connection pool.
+     */
+    @Bean
+    public WebClient userServiceWebClient(WebClient.Builder builder,
+                                          @Value("${user-service.url}") String userServiceUrl,
+                                          @Value("${user-service.http.max-per-route}") int maxConnections,
+                                          @Value("${user-service.http.connect-timeout}") Duration connectTimeout,
+                                          @Value("${user-service.http.response-timeout}") Duration responseTimeout,
+                                          @Value("${user-service.http.connection-request-timeout}") Duration connectionRequestTimeout,
+                                          @Value("${user-service.http.idle-eviction}") Duration idleEviction,
+                                          @Value("${user-service.http.time-to-live}") Duration timeToLive) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder(USER_SERVICE_POOL)
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(connectionRequestTimeout)
+                .maxIdleTime(idleEviction)
+                .maxLifeTime(timeToLive)
+                .metrics(true)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(connectTimeout.toMillis()))
+                .responseTimeout(responseTimeout);
+        return builder
+                .baseUrl(userServiceUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    /**
+     * Replaces the auto-configured JPA transaction manager so that transactions and their statements are
+     * bounded by the request deadline.
+     */
+    @Bean
+    public PlatformTransactionManager transactionManager(
+            EntityManagerFactory entityManagerFactory,
+            ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers) {
+        JpaTransactionManager transactionManager = new DeadlineAwareTransactionManager(entityManagerFactory);
+        transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize(transactionManager));
+        return transactionManager;
+    }
+
+    /**
+     * Read-only transactions for service methods that return a {@code Mono}. {@code @Transactional} cannot be used
+     * there, because Spring would look for a reactive transaction manager instead of the JPA one.
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public TransactionOperations readOnlyTransaction(PlatformTransactionManager transactionManager) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate;
     }
 }
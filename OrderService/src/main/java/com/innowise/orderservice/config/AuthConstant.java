@@ -12,6 +12,7 @@ public final class AuthConstant {
     }
 
     public static final String IDS_PARAM = "ids";
+    public static final String PAGE_PARAM = "page";
     public static final String SLASH = "/";
     public static final String QUERY_PREFIX = "?";
     public static final String PARAM_SEPARATOR = "&";
@@ -19,5 +20,7 @@ public final class AuthConstant {
     public static final String AUTH_HEADER = "Authorization";
     public static final String TOKEN_PREFIX = "Bearer ";
     public static final String ROLE_PREFIX = "ROLE_";
+    public static final String ADMIN_AUTHORITY = ROLE_PREFIX + "ADMIN";
+    public static final String ORDERS_PATH = "/api/v1/orders";
     public static final String CONTENT_TYPE = "application/json";
 }
@@ -0,0 +1,71 @@
+package com.innowise.orderservice.config;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.innowise.orderservice.model.dto.userservice.UserDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * @ClassName CacheConfig
+ * @Description Configuration of the in-process caches and their metrics.
+ * @Author dshparko
+ * @Date 17.10.2026 12:20
+ * @Version 1.0
+ */
+@Configuration
+public class CacheConfig {
+
+    public static final String ITEMS_CACHE = "items";
+    public static final String USERS_BY_EMAIL_CACHE = "users-by-email";
+    public static final String USERS_BY_ID_CACHE = "users-by-id";
+
+    @Bean
+    public Cache<Long, Boolean> itemCache(@Value("${cache.items.max-size}") long maxSize,
+                                          @Value("${cache.items.ttl}") Duration ttl,
+                                          MeterRegistry meterRegistry) {
+        Cache<Long, Boolean> cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, ITEMS_CACHE);
+    }
+
+    @Bean
+    public AsyncCache<String, Optional<UserDto>> usersByEmailCache(@Value("${cache.users.max-size}") long maxSize,
+                                                              @Value("${cache.users.ttl}") Duration ttl,
+                                                              @Value("${cache.users.negative-ttl}") Duration negativeTtl,
+                                                              MeterRegistry meterRegistry) {
+        return CaffeineCacheMetrics.monitor(meterRegistry, userCache(maxSize, ttl, negativeTtl), USERS_BY_EMAIL_CACHE);
+    }
+
+    @Bean
+    public AsyncCache<Long, Optional<UserDto>> usersByIdCache(@Value("${cache.users.max-size}") long maxSize,
+                                                         @Value("${cache.users.ttl}") Duration ttl,
+                                                         @Value("${cache.users.negative-ttl}") Duration negativeTtl,
+                                                         MeterRegistry meterRegistry) {
+        return CaffeineCacheMetrics.monitor(meterRegistry, userCache(maxSize, ttl, negativeTtl), USERS_BY_ID_CACHE);
+    }
+
+    /**
+     * An empty value marks a user that user-service reported as missing; it lives for {@code negativeTtl} only,
+     * as does a stale copy served while user-service is down.
+     * The cache is asynchronous so that concurrent lookups of the same user share one in-flight future.
+     */
+    public static <K> AsyncCache<K, Optional<UserDto>> userCache(long maxSize, Duration ttl, Duration negativeTtl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.<K, Optional<UserDto>>writing((key, user) -> user.filter(found -> !found.isStale()).isPresent() ? ttl : negativeTtl))
+                .recordStats()
+                .buildAsync();
+    }
+}
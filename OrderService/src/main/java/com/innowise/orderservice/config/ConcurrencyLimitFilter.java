@@ -0,0 +1,173 @@
+package com.innowise.orderservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.orderservice.model.dto.error.ErrorResponseDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.UUID;
+
+import static com.innowise.orderservice.config.AuthConstant.CONTENT_TYPE;
+import static com.innowise.orderservice.config.AuthConstant.ORDERS_PATH;
+
+/**
+ * @ClassName ConcurrencyLimitFilter
+ * @Description Sheds order requests with 503 and {@code Retry-After} once an adaptive concurrency limit is reached,
+ * instead of queueing them until the connection pool times out. Each {@link EndpointClass} is limited separately,
+ * so a burst of expensive searches cannot starve user-facing reads, and long exports cannot block bulk imports.
+ * Runs after authentication and rate limiting, so requests without a valid token and callers over their rate take
+ * no slot.
+ * @Author dshparko
+ * @Date 17.10.2026 21:25
+ * @Version 1.0
+ */
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final String retryAfterSeconds;
+    private final AdaptiveConcurrencyLimiter searchLimiter;
+    private final AdaptiveConcurrencyLimiter readLimiter;
+    private final AdaptiveConcurrencyLimiter writeLimiter;
+    private final AdaptiveConcurrencyLimiter bulkLimiter;
+    private final AdaptiveConcurrencyLimiter exportLimiter;
+
+    public ConcurrencyLimitFilter(ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${concurrency-limit.enabled}") boolean enabled,
+                                  @Value("${concurrency-limit.retry-after}") Duration retryAfter,
+                                  @Value("${concurrency-limit.tolerance}") double tolerance,
+                                  @Value("${concurrency-limit.min-limit}") int minLimit,
+                                  @Value("${concurrency-limit.search.initial-limit}") int searchInitialLimit,
+                                  @Value("${concurrency-limit.search.max-limit}") int searchMaxLimit,
+                                  @Value("${concurrency-limit.read.initial-limit}") int readInitialLimit,
+                                  @Value("${concurrency-limit.read.max-limit}") int readMaxLimit,
+                                  @Value("${concurrency-limit.write.initial-limit}") int writeInitialLimit,
+                                  @Value("${concurrency-limit.write.max-limit}") int writeMaxLimit,
+                                  @Value("${concurrency-limit.bulk.initial-limit}") int bulkInitialLimit,
+                                  @Value("${concurrency-limit.bulk.max-limit}") int bulkMaxLimit,
+                                  @Value("${concurrency-limit.export.initial-limit}") int exportInitialLimit,
+                                  @Value("${concurrency-limit.export.max-limit}") int exportMaxLimit) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.retryAfterSeconds = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+        this.searchLimiter = new AdaptiveConcurrencyLimiter(EndpointClass.SEARCH.tag(), searchInitialLimit, minLimit,
+                searchMaxLimit, tolerance, meterRegistry);
+        this.readLimiter = new AdaptiveConcurrencyLimiter(EndpointClass.READ.tag(), readInitialLimit, minLimit,
+                readMaxLimit, tolerance, meterRegistry);
+        this.writeLimiter = new AdaptiveConcurrencyLimiter(EndpointClass.WRITE.tag(), writeInitialLimit, minLimit,
+                writeMaxLimit, tolerance, meterRegistry);
+        this.bulkLimiter = new AdaptiveConcurrencyLimiter(EndpointClass.BULK.tag(), bulkInitialLimit, minLimit,
+                bulkMaxLimit, tolerance, meterRegistry);
+        this.exportLimiter = new AdaptiveConcurrencyLimiter(EndpointClass.EXPORT.tag(), exportInitialLimit, minLimit,
+                exportMaxLimit, tolerance, meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith(ORDERS_PATH, request.getContextPath().length());
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        AdaptiveConcurrencyLimiter limiter = limiterFor(request);
+        if (!limiter.tryAcquire()) {
+            reject(request, response);
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException ex) {
+            limiter.releaseIgnored();
+            throw ex;
+        }
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new ReleasingListener(limiter, started, response));
+        } else {
+            release(limiter, started, response);
+        }
+    }
+
+    AdaptiveConcurrencyLimiter limiterFor(HttpServletRequest request) {
+        return switch (EndpointClass.of(request)) {
+            case SEARCH -> searchLimiter;
+            case READ -> readLimiter;
+            case WRITE -> writeLimiter;
+            case BULK -> bulkLimiter;
+            case EXPORT -> exportLimiter;
+        };
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ErrorResponseDto errorResponse = new ErrorResponseDto(
+                HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                "Service is overloaded, retry later",
+                request.getRequestURI(),
+                UUID.randomUUID()
+        );
+
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(CONTENT_TYPE);
+        response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+    }
+
+    /**
+     * Only requests that were actually served are sampled: failures answer quickly without waiting for the
+     * database, so their latency would only mask queueing.
+     */
+    private static void release(AdaptiveConcurrencyLimiter limiter, long started, HttpServletResponse response) {
+        if (response.getStatus() >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR) {
+            limiter.releaseIgnored();
+        } else {
+            limiter.release(System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * Holds the slot of a request served asynchronously until its response is complete.
+     */
+    private record ReleasingListener(AdaptiveConcurrencyLimiter limiter, long started, HttpServletResponse response)
+            implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(limiter, started, response);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
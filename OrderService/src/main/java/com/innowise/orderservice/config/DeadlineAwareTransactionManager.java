@@ -0,0 +1,45 @@
+package com.innowise.orderservice.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.Duration;
+
+/**
+ * @ClassName DeadlineAwareTransactionManager
+ * @Description JPA transaction manager that bounds every transaction by the {@link RequestDeadline} of the calling
+ * thread. Hibernate turns the transaction timeout into a query timeout on each JDBC statement, so a slow query is
+ * cancelled by the database once the request's budget is spent; a request whose deadline has already passed does
+ * not get a connection at all.
+ * @Author dshparko
+ * @Date 17.10.2026 23:40
+ * @Version 1.0
+ */
+public class DeadlineAwareTransactionManager extends JpaTransactionManager {
+
+    public DeadlineAwareTransactionManager(EntityManagerFactory entityManagerFactory) {
+        super(entityManagerFactory);
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        RequestDeadline.checkNotExpired();
+        super.doBegin(transaction, definition);
+    }
+
+    /**
+     * The configured timeout or the time left until the deadline, whichever is shorter; JDBC timeouts have a
+     * resolution of seconds, so the time left is rounded up.
+     */
+    @Override
+    protected int determineTimeout(TransactionDefinition definition) {
+        int configured = super.determineTimeout(definition);
+        return RequestDeadline.remaining()
+                .map(left -> (int) Math.max(1, left.plus(Duration.ofSeconds(1)).minusNanos(1).toSeconds()))
+                .map(seconds -> configured == TransactionDefinition.TIMEOUT_DEFAULT
+                        ? seconds
+                        : Math.min(configured, seconds))
+                .orElse(configured);
+    }
+}
@@ -0,0 +1,51 @@
+package com.innowise.orderservice.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+
+import static com.innowise.orderservice.config.AuthConstant.ORDERS_PATH;
+
+/**
+ * @ClassName EndpointClass
+ * @Description Classes of order endpoints that differ in cost and in who calls them: admin search, user-facing
+ * reads of a single order, writes, partner bulk imports, and admin exports. Overload protection and deadlines are
+ * configured per class; exports stream for as long as the result set takes and have no deadline.
+ * @Author dshparko
+ * @Date 17.10.2026 23:20
+ * @Version 1.0
+ */
+public enum EndpointClass {
+    SEARCH,
+    READ,
+    WRITE,
+    BULK,
+    EXPORT;
+
+    private static final String CURSOR_PATH = ORDERS_PATH + "/cursor";
+    private static final String BULK_PATH = ORDERS_PATH + "/bulk";
+    private static final String EXPORT_PATH = ORDERS_PATH + "/export";
+
+    /**
+     * The class of an order request; {@code GET /api/v1/orders} and {@code GET /api/v1/orders/cursor} are search,
+     * {@code POST /api/v1/orders/bulk} is a bulk import, {@code GET /api/v1/orders/export} is an export, and any
+     * other {@code GET} is a read.
+     */
+    public static EndpointClass of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return path.equals(BULK_PATH) ? BULK : WRITE;
+        }
+        if (path.equals(EXPORT_PATH)) {
+            return EXPORT;
+        }
+        boolean search = path.equals(ORDERS_PATH) || path.equals(ORDERS_PATH + "/") || path.equals(CURSOR_PATH);
+        return search ? SEARCH : READ;
+    }
+
+    /**
+     * @return the lower-case name, as used in metric tags
+     */
+    public String tag() {
+        return name().toLowerCase();
+    }
+}
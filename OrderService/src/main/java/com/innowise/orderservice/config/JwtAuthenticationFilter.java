@@ -1,7 +1,11 @@
 package com.innowise.orderservice.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -20,9 +24,16 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.security.Key;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
+import java.util.Date;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Optional;
 
 import static com.innowise.orderservice.config.AuthConstant.AUTH_HEADER;
 import static com.innowise.orderservice.config.AuthConstant.ROLE_PREFIX;
@@ -37,8 +48,37 @@ import static com.innowise.orderservice.config.AuthConstant.TOKEN_PREFIX;
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
-    @Value("${jwt.secret}")
-    private String secretKey;
+    private final JwtParser jwtParser;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+    private final boolean claimsPrincipalEnabled;
+    private final String userIdClaim;
+    private final String nameClaim;
+    private final String surnameClaim;
+
+    /**
+     * The signing key and the parser are built once. Verified tokens are cached by their SHA-256 hash until
+     * they expire, or for at most {@code jwt.cache.max-ttl} if they carry no {@code exp} claim.
+     */
+    public JwtAuthenticationFilter(@Value("${jwt.secret}") String secretKey,
+                                   @Value("${jwt.cache.max-size}") long maxCachedTokens,
+                                   @Value("${jwt.cache.max-ttl}") Duration maxTtl,
+                                   @Value("${jwt.claims.enabled}") boolean claimsPrincipalEnabled,
+                                   @Value("${jwt.claims.user-id}") String userIdClaim,
+                                   @Value("${jwt.claims.name}") String nameClaim,
+                                   @Value("${jwt.claims.surname}") String surnameClaim) {
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey)))
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maxCachedTokens)
+                .expireAfter(Expiry.<String, VerifiedToken>creating((tokenHash, verified) ->
+                        verified.timeToLive(maxTtl)))
+                .build();
+        this.claimsPrincipalEnabled = claimsPrincipalEnabled;
+        this.userIdClaim = userIdClaim;
+        this.nameClaim = nameClaim;
+        this.surnameClaim = surnameClaim;
+    }
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
@@ -47,12 +87,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String token = extractToken(request);
             if (token != null) {
-                Claims claims = parseClaims(token);
-                String username = claims.getSubject();
-                List<GrantedAuthority> authorities = extractRoles(claims);
+                VerifiedToken verified = verify(token);
 
                 UsernamePasswordAuthenticationToken auth =
-                        new UsernamePasswordAuthenticationToken(username, token, authorities);
+                        new UsernamePasswordAuthenticationToken(verified.principal(), token, verified.authorities());
 
                 SecurityContextHolder.getContext().setAuthentication(auth);
             }
@@ -71,15 +109,63 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 : null;
     }
 
+    private VerifiedToken verify(String token) {
+        String tokenHash = hash(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(tokenHash);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+        Claims claims = parseClaims(token);
+        VerifiedToken verified = new VerifiedToken(extractPrincipal(claims), extractRoles(claims),
+                Optional.ofNullable(claims.getExpiration()).map(Date::toInstant).orElse(null));
+        verifiedTokens.put(tokenHash, verified);
+        return verified;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private Claims parseClaims(String token) {
         try {
-            return jwtParser().parseClaimsJws(token).getBody();
+            return jwtParser.parseClaimsJws(token).getBody();
         } catch (JwtException | IllegalArgumentException e) {
             throw new AuthenticationException("Invalid JWT: " + e.getMessage()) {
             };
         }
     }
 
+    /**
+     * The subject alone, unless claims mode is on; then the configured user ID and profile claims as well.
+     */
+    private Object extractPrincipal(Claims claims) {
+        String username = claims.getSubject();
+        if (!claimsPrincipalEnabled) {
+            return username;
+        }
+        return new JwtPrincipal(username, extractUserId(claims),
+                claims.get(nameClaim, String.class), claims.get(surnameClaim, String.class));
+    }
+
+    private Long extractUserId(Claims claims) {
+        Object userId = claims.get(userIdClaim);
+        try {
+            return switch (userId) {
+                case Number number -> number.longValue();
+                case String text -> Long.valueOf(text);
+                case null, default -> null;
+            };
+        } catch (NumberFormatException e) {
+            throw new AuthenticationException("Invalid JWT: malformed " + userIdClaim + " claim") {
+            };
+        }
+    }
+
     private List<GrantedAuthority> extractRoles(Claims claims) {
         String role = claims.get("role", String.class);
         return (role == null || role.isBlank())
@@ -87,15 +173,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 : List.of(new SimpleGrantedAuthority(ROLE_PREFIX + role));
     }
 
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
+    /**
+     * Authentication data of a verified token; the authority list is built once and shared between requests.
+     */
+    private record VerifiedToken(Object principal, List<GrantedAuthority> authorities, Instant expiresAt) {
 
-    private io.jsonwebtoken.JwtParser jwtParser() {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build();
+        private boolean isExpired() {
+            return expiresAt != null && !Instant.now().isBefore(expiresAt);
+        }
+
+        private Duration timeToLive(Duration maxTtl) {
+            if (expiresAt == null) {
+                return maxTtl;
+            }
+            Duration untilExpiry = Duration.between(Instant.now(), expiresAt);
+            return untilExpiry.isNegative() ? Duration.ZERO : untilExpiry.compareTo(maxTtl) < 0 ? untilExpiry : maxTtl;
+        }
     }
 }
 
@@ -4,6 +4,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+import java.util.Optional;
+
 
 @Component
 public class JwtEmailExtractor {
@@ -17,4 +19,16 @@ public class JwtEmailExtractor {
 
         return authentication.getPrincipal().toString();
     }
+
+    /**
+     * Returns the caller read from the JWT claims, if claims mode is on and the token carries a user ID.
+     */
+    public Optional<JwtPrincipal> extractClaimsPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof JwtPrincipal principal
+                && principal.userId() != null) {
+            return Optional.of(principal);
+        }
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,30 @@
+package com.innowise.orderservice.config;
+
+import java.security.Principal;
+
+/**
+ * Caller identity read from the claims of a verified JWT. It is used as the authentication principal
+ * when {@code jwt.claims.enabled} is set, so the caller's user ID is known without asking user-service.
+ *
+ * @param email   the token subject
+ * @param userId  the user ID claim, or {@code null} if the token does not carry one
+ * @param name    the optional first name claim
+ * @param surname the optional last name claim
+ */
+public record JwtPrincipal(
+        String email,
+        Long userId,
+        String name,
+        String surname
+) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return email;
+    }
+}
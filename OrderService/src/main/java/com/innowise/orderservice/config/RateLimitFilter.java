@@ -0,0 +1,140 @@
+package com.innowise.orderservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.orderservice.model.dto.error.ErrorResponseDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.innowise.orderservice.config.AuthConstant.ADMIN_AUTHORITY;
+import static com.innowise.orderservice.config.AuthConstant.CONTENT_TYPE;
+import static com.innowise.orderservice.config.AuthConstant.ORDERS_PATH;
+
+/**
+ * @ClassName RateLimitFilter
+ * @Description Limits the order requests of each authenticated subject, with separate limits for users and admins.
+ * Runs right after {@link JwtAuthenticationFilter}; requests over the limit get 429 before reaching any controller.
+ * @Author dshparko
+ * @Date 17.10.2026 22:20
+ * @Version 1.0
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final SubjectRateLimiter userLimiter;
+    private final SubjectRateLimiter adminLimiter;
+    private final Counter userRejections;
+    private final Counter adminRejections;
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("rate-limit-sweeper").daemon().factory());
+
+    public RateLimitFilter(ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${rate-limit.enabled}") boolean enabled,
+                           @Value("${rate-limit.idle-timeout}") Duration idleTimeout,
+                           @Value("${rate-limit.max-subjects}") long maxSubjects,
+                           @Value("${rate-limit.user.requests-per-second}") double userRate,
+                           @Value("${rate-limit.user.burst}") int userBurst,
+                           @Value("${rate-limit.admin.requests-per-second}") double adminRate,
+                           @Value("${rate-limit.admin.burst}") int adminBurst) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.userLimiter = new SubjectRateLimiter(userRate, userBurst, idleTimeout, maxSubjects);
+        this.adminLimiter = new SubjectRateLimiter(adminRate, adminBurst, idleTimeout, maxSubjects);
+        this.userRejections = rejections(meterRegistry, "user");
+        this.adminRejections = rejections(meterRegistry, "admin");
+        Gauge.builder("orders.rate-limit.subjects", this,
+                        filter -> filter.userLimiter.trackedSubjects() + filter.adminLimiter.trackedSubjects())
+                .description("Subjects with a token bucket")
+                .register(meterRegistry);
+        long sweepMillis = idleTimeout.toMillis();
+        sweeper.scheduleWithFixedDelay(this::evictIdle, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith(ORDERS_PATH, request.getContextPath().length());
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        boolean admin = isAdmin(authentication);
+        Duration wait = (admin ? adminLimiter : userLimiter).tryAcquire(authentication.getName());
+        if (!wait.isZero()) {
+            (admin ? adminRejections : userRejections).increment();
+            reject(request, response, wait);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (ADMIN_AUTHORITY.equals(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, Duration wait) throws IOException {
+        ErrorResponseDto errorResponse = new ErrorResponseDto(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too many requests, retry later",
+                request.getRequestURI(),
+                UUID.randomUUID()
+        );
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(wait.plusSeconds(1).minusNanos(1).toSeconds()));
+        response.setContentType(CONTENT_TYPE);
+        response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+    }
+
+    private void evictIdle() {
+        userLimiter.evictIdle();
+        adminLimiter.evictIdle();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String role) {
+        return Counter.builder("orders.rate-limit.rejected")
+                .description("Requests denied because their subject ran out of tokens")
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+}
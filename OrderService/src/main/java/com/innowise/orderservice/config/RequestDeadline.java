@@ -0,0 +1,92 @@
+package com.innowise.orderservice.config;
+
+import com.innowise.orderservice.exception.DeadlineExceededException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+/**
+ * @ClassName RequestDeadline
+ * @Description Time by which the current request has to be answered. {@link RequestDeadlineFilter} binds it to the
+ * request thread; work handed to other threads carries it along through {@link #propagate(Callable)}. Threads
+ * without a deadline are unbounded.
+ * @Author dshparko
+ * @Date 17.10.2026 23:10
+ * @Version 1.0
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    /**
+     * Sets the deadline of the current thread to the given time from now.
+     */
+    public static void set(Duration timeout) {
+        DEADLINE_NANOS.set(System.nanoTime() + timeout.toNanos());
+    }
+
+    public static void clear() {
+        DEADLINE_NANOS.remove();
+    }
+
+    /**
+     * @return the time left until the deadline, negative once it has passed, or empty if there is no deadline
+     */
+    public static Optional<Duration> remaining() {
+        Long deadline = DEADLINE_NANOS.get();
+        return deadline == null ? Optional.empty() : Optional.of(Duration.ofNanos(deadline - System.nanoTime()));
+    }
+
+    /**
+     * @throws DeadlineExceededException if the deadline has passed
+     */
+    public static void checkNotExpired() {
+        if (remaining().filter(left -> !left.isPositive()).isPresent()) {
+            throw expired();
+        }
+    }
+
+    /**
+     * Wraps the task so that it runs under the deadline of the calling thread.
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        Long deadline = DEADLINE_NANOS.get();
+        if (deadline == null) {
+            return task;
+        }
+        return () -> {
+            Long previous = DEADLINE_NANOS.get();
+            DEADLINE_NANOS.set(deadline);
+            try {
+                return task.call();
+            } finally {
+                if (previous == null) {
+                    DEADLINE_NANOS.remove();
+                } else {
+                    DEADLINE_NANOS.set(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * Fails the given {@link Mono} with {@link DeadlineExceededException} once the deadline of the calling thread
+     * passes; shared lookups it subscribed to are left running for their other subscribers.
+     */
+    public static <T> Mono<T> bound(Mono<T> mono) {
+        return remaining()
+                .map(left -> left.isPositive()
+                        ? mono.timeout(left, Mono.error(RequestDeadline::expired))
+                        : Mono.<T>error(expired()))
+                .orElse(mono);
+    }
+
+    private static DeadlineExceededException expired() {
+        return new DeadlineExceededException("Request deadline exceeded");
+    }
+}
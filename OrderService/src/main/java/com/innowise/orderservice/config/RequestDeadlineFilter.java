@@ -0,0 +1,107 @@
+package com.innowise.orderservice.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+
+import static com.innowise.orderservice.config.AuthConstant.ORDERS_PATH;
+
+/**
+ * @ClassName RequestDeadlineFilter
+ * @Description Starts the {@link RequestDeadline} of every order request. The caller may ask for a shorter or
+ * longer budget, in milliseconds, through the {@code deadline.header} header, capped at the maximum of the request's
+ * {@link EndpointClass}; otherwise the default of that class applies. Exports get no deadline: they are aborted
+ * only by the client, since cutting one off would leave a truncated file behind an already sent 200.
+ * @Author dshparko
+ * @Date 17.10.2026 23:30
+ * @Version 1.0
+ */
+@Component
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    private final String header;
+    private final Budget search;
+    private final Budget read;
+    private final Budget write;
+    private final Budget bulk;
+
+    public RequestDeadlineFilter(@Value("${deadline.header}") String header,
+                                 @Value("${deadline.search.default}") Duration searchDefault,
+                                 @Value("${deadline.search.max}") Duration searchMax,
+                                 @Value("${deadline.read.default}") Duration readDefault,
+                                 @Value("${deadline.read.max}") Duration readMax,
+                                 @Value("${deadline.write.default}") Duration writeDefault,
+                                 @Value("${deadline.write.max}") Duration writeMax,
+                                 @Value("${deadline.bulk.default}") Duration bulkDefault,
+                                 @Value("${deadline.bulk.max}") Duration bulkMax) {
+        this.header = header;
+        this.search = new Budget(searchDefault, searchMax);
+        this.read = new Budget(readDefault, readMax);
+        this.write = new Budget(writeDefault, writeMax);
+        this.bulk = new Budget(bulkDefault, bulkMax);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(ORDERS_PATH, request.getContextPath().length());
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        Optional<Duration> timeout = timeoutOf(request);
+        if (timeout.isEmpty()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        RequestDeadline.set(timeout.get());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    Optional<Duration> timeoutOf(HttpServletRequest request) {
+        EndpointClass endpointClass = EndpointClass.of(request);
+        if (endpointClass == EndpointClass.EXPORT) {
+            return Optional.empty();
+        }
+        Budget budget = budgetOf(endpointClass);
+        String requested = request.getHeader(header);
+        if (requested != null) {
+            try {
+                Duration timeout = Duration.ofMillis(Long.parseLong(requested.trim()));
+                if (timeout.isPositive()) {
+                    return Optional.of(timeout.compareTo(budget.max()) < 0 ? timeout : budget.max());
+                }
+            } catch (NumberFormatException ignored) {
+                // a malformed budget is treated as no budget at all
+            }
+        }
+        return Optional.of(budget.byDefault());
+    }
+
+    private Budget budgetOf(EndpointClass endpointClass) {
+        return switch (endpointClass) {
+            case SEARCH -> search;
+            case READ -> read;
+            case WRITE -> write;
+            case BULK -> bulk;
+            case EXPORT -> throw new IllegalArgumentException("Exports have no deadline");
+        };
+    }
+
+    private record Budget(Duration byDefault, Duration max) {
+    }
+}
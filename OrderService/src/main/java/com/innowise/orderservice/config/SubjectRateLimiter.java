@@ -0,0 +1,104 @@
+package com.innowise.orderservice.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * @ClassName SubjectRateLimiter
+ * @Description Token bucket per JWT subject. Each bucket is a single {@link AtomicLong} holding the time at which it
+ * will be full again (the GCRA form of a token bucket), so taking a token is one compare-and-set and needs no lock.
+ * Buckets that have been full for the idle timeout are swept away by {@link #evictIdle()}; a new bucket starts
+ * full, so nothing is lost. The cache itself is only bounded by size, since tracking access times would cost more
+ * than the bucket.
+ * @Author dshparko
+ * @Date 17.10.2026 22:05
+ * @Version 1.0
+ */
+public class SubjectRateLimiter {
+
+    private static final Function<String, TokenBucket> NEW_BUCKET = subject -> new TokenBucket();
+
+    private final Cache<String, TokenBucket> buckets;
+    private final long tokenIntervalNanos;
+    private final long burstNanos;
+    private final long idleNanos;
+
+    /**
+     * @param permitsPerSecond sustained rate allowed per subject
+     * @param burst            tokens a subject can spend at once after being idle
+     * @param idleTimeout      how long a bucket is kept once it has refilled
+     * @param maxSubjects      upper bound on the number of buckets kept
+     */
+    public SubjectRateLimiter(double permitsPerSecond, int burst, Duration idleTimeout, long maxSubjects) {
+        this.tokenIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.burstNanos = burst * tokenIntervalNanos;
+        this.idleNanos = idleTimeout.toNanos();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxSubjects)
+                .build();
+    }
+
+    /**
+     * Takes a token from the subject's bucket.
+     *
+     * @return zero if the request may proceed, otherwise how long the subject has to wait for the next token
+     */
+    public Duration tryAcquire(String subject) {
+        return Duration.ofNanos(tryAcquire(subject, System::nanoTime));
+    }
+
+    long tryAcquire(String subject, LongSupplier clock) {
+        return buckets.get(subject, NEW_BUCKET).tryAcquire(clock, tokenIntervalNanos, burstNanos);
+    }
+
+    /**
+     * Drops the buckets of subjects that have not needed a token for the idle timeout.
+     */
+    public void evictIdle() {
+        evictIdle(System::nanoTime);
+    }
+
+    void evictIdle(LongSupplier clock) {
+        long now = clock.getAsLong();
+        buckets.asMap().values().removeIf(bucket -> bucket.fullFor(now) >= idleNanos);
+    }
+
+    public long trackedSubjects() {
+        return buckets.estimatedSize();
+    }
+
+    private static final class TokenBucket {
+
+        private final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+
+        /**
+         * The clock is read after the bucket, so a caller that stalls in between cannot act on a stale time and
+         * see the bucket as emptier than it is.
+         */
+        private long tryAcquire(LongSupplier clock, long tokenInterval, long burst) {
+            while (true) {
+                long current = fullAt.get();
+                long now = clock.getAsLong();
+                long next = Math.max(current, now) + tokenInterval;
+                long wait = next - now - burst;
+                if (wait > 0) {
+                    return wait;
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        private long fullFor(long now) {
+            long current = fullAt.get();
+            return current == Long.MIN_VALUE ? Long.MAX_VALUE : now - current;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.innowise.orderservice.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.Callable;
+
+/**
+ * @ClassName WebMvcConfig
+ * @Description Lifts the servlet container's async timeout for streamed exports only. An export writes its body
+ * for as long as the result set takes, so any fixed timeout would cut it off behind an already sent 200; every
+ * other async request keeps the container default.
+ * @Author dshparko
+ * @Date 18.10.2026 03:10
+ * @Version 1.0
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private static final long NO_TIMEOUT = -1L;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new ExportTimeoutInterceptor());
+    }
+
+    static class ExportTimeoutInterceptor implements CallableProcessingInterceptor {
+
+        @Override
+        public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+            HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
+            if (request instanceof AsyncWebRequest asyncRequest && servletRequest != null
+                    && EndpointClass.of(servletRequest) == EndpointClass.EXPORT) {
+                asyncRequest.setTimeout(NO_TIMEOUT);
+            }
+        }
+    }
+}
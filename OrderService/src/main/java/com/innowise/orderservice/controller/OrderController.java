@@ -1,14 +1,21 @@
 package com.innowise.orderservice.controller;
 
 
+import com.innowise.orderservice.model.ExportFormat;
+import com.innowise.orderservice.model.dto.BulkOrderResultDto;
+import com.innowise.orderservice.model.dto.CursorPageDto;
 import com.innowise.orderservice.model.dto.OrderDto;
 import com.innowise.orderservice.model.dto.OrderFilterDto;
+import com.innowise.orderservice.service.BulkOrderService;
+import com.innowise.orderservice.service.OrderExportService;
 import com.innowise.orderservice.service.OrderService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -20,7 +27,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 
 /**
  * @ClassName OrderController
@@ -37,34 +52,75 @@ import org.springframework.web.bind.annotation.RestController;
 public class OrderController {
 
     private final OrderService orderService;
+    private final BulkOrderService bulkOrderService;
+    private final OrderExportService orderExportService;
 
     @PreAuthorize(value = "hasAnyRole('USER','ADMIN')")
     @PostMapping
-    public ResponseEntity<OrderDto> createOrder(@RequestBody @Valid OrderDto order) {
-        OrderDto created = orderService.createOrder(order);
+    public ResponseEntity<OrderDto> createOrder(@RequestBody @Valid OrderDto order,
+                                                @RequestParam(defaultValue = "false") boolean enrichUser) {
+        OrderDto created = orderService.createOrder(order, enrichUser);
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    /**
+     * Imports orders sent by a partner system as NDJSON, one order per line. Lines that cannot be imported
+     * are reported in the result; they do not fail the request.
+     */
+    @PreAuthorize(value = "hasRole('ADMIN')")
+    @PostMapping(path = "/bulk", consumes = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BulkOrderResultDto> importOrders(InputStream body) throws IOException {
+        return ResponseEntity.ok(bulkOrderService.importOrders(body));
+    }
+
     @PreAuthorize(value = "hasAnyRole('USER','ADMIN')")
     @GetMapping("/{id}")
-    public ResponseEntity<OrderDto> getOrderById(@PathVariable Long id) {
-        OrderDto order = orderService.getOrderById(id);
-        return ResponseEntity.ok(order);
+    public Mono<ResponseEntity<OrderDto>> getOrderById(@PathVariable Long id,
+                                                       @RequestParam(defaultValue = "false") boolean enrichUser) {
+        return orderService.getOrderById(id, enrichUser)
+                .map(ResponseEntity::ok);
     }
 
     @PreAuthorize(value = "hasRole('ADMIN')")
     @GetMapping
-    public ResponseEntity<Page<OrderDto>> search(OrderFilterDto filter,
+    public Mono<ResponseEntity<Page<OrderDto>>> search(OrderFilterDto filter,
                                                        @PageableDefault Pageable pageable) {
-        Page<OrderDto> page = orderService.searchOrders(filter, pageable);
+        return orderService.searchOrders(filter, pageable)
+                .map(ResponseEntity::ok);
+    }
 
-        return ResponseEntity.ok(page);
+    @PreAuthorize(value = "hasRole('ADMIN')")
+    @GetMapping("/cursor")
+    public Mono<ResponseEntity<CursorPageDto<OrderDto>>> searchByCursor(OrderFilterDto filter,
+                                                                        @RequestParam(required = false) String after,
+                                                                        @RequestParam(defaultValue = "10") int size) {
+        return orderService.searchOrders(filter, after, size)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Streams every order matching the filter as NDJSON or CSV, without paging or counting. The body is written
+     * after this method returns and has no deadline, see {@link com.innowise.orderservice.config.WebMvcConfig}.
+     */
+    @PreAuthorize(value = "hasRole('ADMIN')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(OrderFilterDto filter,
+                                                              @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        StreamingResponseBody body = out -> orderExportService.exportOrders(filter, format, out);
+        return ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("orders." + format.extension())
+                        .build()
+                        .toString())
+                .body(body);
     }
 
     @PreAuthorize(value = "hasRole('ADMIN')")
     @PutMapping("/{id}")
-    public ResponseEntity<OrderDto> updateOrder(@PathVariable Long id, @RequestBody @Valid OrderDto updated) {
-        OrderDto order = orderService.updateOrder(id, updated);
+    public ResponseEntity<OrderDto> updateOrder(@PathVariable Long id, @RequestBody @Valid OrderDto updated,
+                                                @RequestParam(defaultValue = "false") boolean enrichUser) {
+        OrderDto order = orderService.updateOrder(id, updated, enrichUser);
         return ResponseEntity.ok(order);
     }
 
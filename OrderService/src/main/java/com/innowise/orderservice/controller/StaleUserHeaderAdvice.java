@@ -0,0 +1,56 @@
+package com.innowise.orderservice.controller;
+
+import com.innowise.orderservice.model.dto.CursorPageDto;
+import com.innowise.orderservice.model.dto.OrderDto;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Collection;
+
+/**
+ * @ClassName StaleUserHeaderAdvice
+ * @Description Adds the {@value #STALE_USER_HEADER} header to order responses that carry a last-known user
+ * served while user-service was unavailable.
+ * @Author dshparko
+ * @Date 17.10.2026 17:55
+ * @Version 1.0
+ */
+@ControllerAdvice(assignableTypes = OrderController.class)
+public class StaleUserHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String STALE_USER_HEADER = "X-Stale-User-Data";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (containsStaleUser(body)) {
+            response.getHeaders().set(STALE_USER_HEADER, Boolean.TRUE.toString());
+        }
+        return body;
+    }
+
+    private static boolean containsStaleUser(Object body) {
+        return switch (body) {
+            case OrderDto order -> order.user() != null && order.user().isStale();
+            case Page<?> page -> anyStale(page.getContent());
+            case CursorPageDto<?> page -> anyStale(page.content());
+            case null, default -> false;
+        };
+    }
+
+    private static boolean anyStale(Collection<?> content) {
+        return content.stream().anyMatch(StaleUserHeaderAdvice::containsStaleUser);
+    }
+}
@@ -62,6 +62,20 @@ public class ApiErrorHandler {
                 .body(buildErrorResponse(HttpStatus.NOT_FOUND, ex.getMessage(), request.getRequestURI()));
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponseDto> handleInvalidCursor(InvalidCursorException ex,
+                                                                HttpServletRequest request) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), request.getRequestURI()));
+    }
+
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<ErrorResponseDto> handleDeadlineExceeded(DeadlineExceededException ex,
+                                                                   HttpServletRequest request) {
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(buildErrorResponse(HttpStatus.GATEWAY_TIMEOUT, ex.getMessage(), request.getRequestURI()));
+    }
+
     @ExceptionHandler(HttpMessageConversionException.class)
     public ResponseEntity<ErrorResponseDto> handleBadRequest(HttpMessageConversionException ex,
                                                              HttpServletRequest request) {
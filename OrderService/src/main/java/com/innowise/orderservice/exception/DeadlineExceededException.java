@@ -0,0 +1,17 @@
+package com.innowise.orderservice.exception;
+
+/**
+ * @ClassName DeadlineExceededException
+ * @Description Thrown when the deadline of the current request has passed, so the remaining work is abandoned.
+ * It says nothing about the health of the service that was being called and does not count as a circuit breaker
+ * failure.
+ * @Author dshparko
+ * @Date 17.10.2026 23:05
+ * @Version 1.0
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
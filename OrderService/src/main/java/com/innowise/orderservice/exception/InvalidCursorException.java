@@ -0,0 +1,19 @@
+package com.innowise.orderservice.exception;
+
+/**
+ * @ClassName InvalidCursorException
+ * @Description Custom runtime exception thrown when a keyset pagination cursor cannot be decoded.
+ * @Author dshparko
+ * @Date 17.10.2026 11:02
+ * @Version 1.0
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    public InvalidCursorException(String message, Exception e) {
+        super(message, e);
+    }
+}
@@ -0,0 +1,17 @@
+package com.innowise.orderservice.exception;
+
+/**
+ * @ClassName UserNotFoundException
+ * @Description Thrown when user-service answered and the requested user does not exist.
+ * Unlike a plain {@link ResourceNotFoundException} it never signals that user-service is unavailable,
+ * so the result may be cached and does not count as a circuit breaker failure.
+ * @Author dshparko
+ * @Date 17.10.2026 13:40
+ * @Version 1.0
+ */
+public class UserNotFoundException extends ResourceNotFoundException {
+
+    public UserNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,33 @@
+package com.innowise.orderservice.model;
+
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @ClassName ExportFormat
+ * @Description Formats in which orders can be exported: one JSON order per line, or one CSV row per order line.
+ * @Author dshparko
+ * @Date 18.10.2026 01:10
+ * @Version 1.0
+ */
+public enum ExportFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+}
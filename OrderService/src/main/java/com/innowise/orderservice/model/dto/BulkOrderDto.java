@@ -0,0 +1,22 @@
+package com.innowise.orderservice.model.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * One line of a bulk order import. Unlike {@link OrderDto} the user is named explicitly, because the import is
+ * sent by a partner system on behalf of many users.
+ *
+ * @param userId ID of the user who placed the order
+ * @param items  items of the order
+ */
+public record BulkOrderDto(
+        @NotNull(message = "User ID must not be null")
+        Long userId,
+        @NotEmpty(message = "Order must contain at least one item")
+        List<@Valid @NotNull CreateOrderItemDto> items
+) {
+}
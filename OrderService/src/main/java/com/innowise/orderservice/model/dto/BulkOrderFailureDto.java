@@ -0,0 +1,13 @@
+package com.innowise.orderservice.model.dto;
+
+/**
+ * A line of a bulk order import that was not imported.
+ *
+ * @param line  1-based line number in the submitted stream
+ * @param error why the line was rejected
+ */
+public record BulkOrderFailureDto(
+        long line,
+        String error
+) {
+}
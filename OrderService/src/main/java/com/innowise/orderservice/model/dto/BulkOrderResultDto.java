@@ -0,0 +1,17 @@
+package com.innowise.orderservice.model.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk order import. Every non-blank line is either created or listed among the failures.
+ *
+ * @param received number of orders read from the stream
+ * @param created  number of orders written
+ * @param failures lines that were rejected, in stream order
+ */
+public record BulkOrderResultDto(
+        int received,
+        int created,
+        List<BulkOrderFailureDto> failures
+) {
+}
@@ -0,0 +1,20 @@
+package com.innowise.orderservice.model.dto;
+
+import java.util.List;
+
+/**
+ * Slice of results returned by a keyset (seek) search.
+ * Unlike {@link org.springframework.data.domain.Page} it carries no total count,
+ * only the token that continues the search after the last returned element.
+ *
+ * @param content    elements of the current slice
+ * @param size       requested slice size
+ * @param nextCursor opaque token for the next slice, or {@code null} when there are no more elements
+ * @param <T>        type of the elements
+ */
+public record CursorPageDto<T>(
+        List<T> content,
+        int size,
+        String nextCursor
+) {
+}
@@ -0,0 +1,55 @@
+package com.innowise.orderservice.model.dto;
+
+import com.innowise.orderservice.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last order returned by a keyset (seek) search.
+ * Orders are walked by {@code creationDate} descending with {@code id} as the tie-breaker,
+ * so the pair uniquely identifies where the next page starts.
+ *
+ * @param creationDate creation date of the last returned order
+ * @param id           identifier of the last returned order
+ */
+public record OrderCursor(
+        LocalDate creationDate,
+        Long id
+) {
+    private static final String SEPARATOR = ":";
+
+    public static OrderCursor of(OrderView order) {
+        return new OrderCursor(order.creationDate(), order.id());
+    }
+
+    /**
+     * Decodes an opaque token previously produced by {@link #encode()}.
+     *
+     * @param token the token passed by the client, may be {@code null} or blank for the first page
+     * @return the decoded cursor, or {@code null} when no token was given
+     * @throws InvalidCursorException if the token is malformed
+     */
+    public static OrderCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, -1);
+            if (parts.length != 2) {
+                throw new InvalidCursorException("Invalid cursor: " + token);
+            }
+            return new OrderCursor(LocalDate.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor: " + token, e);
+        }
+    }
+
+    public String encode() {
+        String raw = creationDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
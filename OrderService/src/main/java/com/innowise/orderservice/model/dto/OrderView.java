@@ -0,0 +1,30 @@
+package com.innowise.orderservice.model.dto;
+
+import com.innowise.orderservice.model.OrderStatus;
+import com.innowise.orderservice.model.dto.userservice.UserDto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Read-only projection of an order with exactly the columns an {@link OrderDto} needs, plus the owner's ID
+ * for user enrichment. Built straight from query rows, never from managed entities.
+ *
+ * @param id           unique identifier of the order
+ * @param userId       identifier of the user who placed the order
+ * @param status       current status of the order
+ * @param creationDate date the order was created
+ * @param items        the order lines
+ */
+public record OrderView(
+        Long id,
+        Long userId,
+        OrderStatus status,
+        LocalDate creationDate,
+        List<CreateOrderItemDto> items
+) {
+
+    public OrderDto toDto(UserDto user) {
+        return new OrderDto(id, status, creationDate, items, user);
+    }
+}
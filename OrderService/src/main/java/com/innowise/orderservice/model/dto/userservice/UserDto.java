@@ -1,6 +1,7 @@
 package com.innowise.orderservice.model.dto.userservice;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -50,4 +51,19 @@ public class UserDto implements Serializable {
 
     private List<CardDto> cards;
 
+    /**
+     * Set on a last-known copy served while user-service is unavailable; never sent by user-service itself.
+     */
+    @EqualsAndHashCode.Exclude
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean stale;
+
+    public UserDto(Long id, String name, String surname, String email, LocalDate birthDate, List<CardDto> cards) {
+        this(id, name, surname, email, birthDate, cards, false);
+    }
+
+    public UserDto asStale() {
+        return new UserDto(id, name, surname, email, birthDate, cards, true);
+    }
+
 }
@@ -17,4 +17,17 @@ import java.util.List;
 @Setter
 public class UserPageDto {
     private List<UserDto> content;
+    private Integer number;
+    private Integer totalPages;
+    private Boolean last;
+
+    /**
+     * A response without page metadata is treated as the only page.
+     */
+    public boolean hasNextPage() {
+        if (last != null) {
+            return !last;
+        }
+        return number != null && totalPages != null && number + 1 < totalPages;
+    }
 }
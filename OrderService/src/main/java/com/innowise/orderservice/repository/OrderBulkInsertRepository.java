@@ -0,0 +1,25 @@
+package com.innowise.orderservice.repository;
+
+import com.innowise.orderservice.model.entity.Order;
+
+import java.util.List;
+
+/**
+ * @ClassName OrderBulkInsertRepository
+ * @Description Repository fragment that writes many new {@link Order}s at once, bypassing the persistence context.
+ * @Author dshparko
+ * @Date 17.10.2026 23:55
+ * @Version 1.0
+ */
+public interface OrderBulkInsertRepository {
+
+    /**
+     * Inserts the given new orders and their items in one transaction, with multi-row inserts.
+     * <p>
+     * IDs are taken from the same sequences, and in the same blocks, as Hibernate uses, and are set on the
+     * passed entities. The items must reference existing {@code Item}s; nothing is cascaded or merged.
+     *
+     * @param orders new orders with their items
+     */
+    void insertAll(List<Order> orders);
+}
@@ -0,0 +1,77 @@
+package com.innowise.orderservice.repository;
+
+import com.innowise.orderservice.model.entity.Order;
+import com.innowise.orderservice.model.entity.OrderItem;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.stream.LongStream;
+
+/**
+ * @ClassName OrderBulkInsertRepositoryImpl
+ * @Description JDBC implementation of {@link OrderBulkInsertRepository}. Rows are sent as JDBC batches, which the
+ * PostgreSQL driver rewrites into multi-row {@code INSERT}s.
+ * @Author dshparko
+ * @Date 17.10.2026 23:58
+ * @Version 1.0
+ */
+@RequiredArgsConstructor
+public class OrderBulkInsertRepositoryImpl implements OrderBulkInsertRepository {
+
+    /**
+     * The allocation size of the ID generators and the increment of their sequences; with the pooled-lo
+     * optimizer, each value drawn from a sequence reserves this many IDs starting at that value.
+     */
+    private static final int ID_BLOCK_SIZE = 50;
+
+    private static final String ORDERS_SEQUENCE = "orders_seq";
+    private static final String ORDER_ITEMS_SEQUENCE = "order_items_seq";
+    private static final String NEXT_ID_BLOCKS = "SELECT nextval(?) FROM generate_series(1, ?)";
+    private static final String INSERT_ORDER =
+            "INSERT INTO orders (id, user_id, status, creation_date) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_ORDER_ITEM =
+            "INSERT INTO order_items (id, order_id, item_id, quantity) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void insertAll(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        List<OrderItem> items = orders.stream()
+                .flatMap(order -> order.getItems().stream())
+                .toList();
+
+        PrimitiveIterator.OfLong orderIds = allocateIds(ORDERS_SEQUENCE, orders.size());
+        orders.forEach(order -> order.setId(orderIds.nextLong()));
+        PrimitiveIterator.OfLong itemIds = allocateIds(ORDER_ITEMS_SEQUENCE, items.size());
+        items.forEach(item -> item.setId(itemIds.nextLong()));
+
+        jdbcTemplate.batchUpdate(INSERT_ORDER, orders, orders.size(), (statement, order) -> {
+            statement.setLong(1, order.getId());
+            statement.setLong(2, order.getUserId());
+            statement.setString(3, order.getStatus().name());
+            statement.setDate(4, Date.valueOf(order.getCreationDate()));
+        });
+        jdbcTemplate.batchUpdate(INSERT_ORDER_ITEM, items, items.size(), (statement, item) -> {
+            statement.setLong(1, item.getId());
+            statement.setLong(2, item.getOrder().getId());
+            statement.setLong(3, item.getItem().getId());
+            statement.setInt(4, item.getQuantity());
+        });
+    }
+
+    private PrimitiveIterator.OfLong allocateIds(String sequence, int count) {
+        int blocks = (count + ID_BLOCK_SIZE - 1) / ID_BLOCK_SIZE;
+        return jdbcTemplate.queryForList(NEXT_ID_BLOCKS, Long.class, sequence, blocks).stream()
+                .flatMapToLong(start -> LongStream.range(start, start + ID_BLOCK_SIZE))
+                .limit(count)
+                .iterator();
+    }
+}
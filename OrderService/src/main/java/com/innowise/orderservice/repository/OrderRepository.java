@@ -1,10 +1,6 @@
 package com.innowise.orderservice.repository;
 
 import com.innowise.orderservice.model.entity.Order;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
-import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -20,7 +16,8 @@ import java.util.Optional;
  * @Version 1.0
  */
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
+public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order>,
+        OrderSearchRepository, OrderBulkInsertRepository {
 
     /**
      * Saves the given order entity to the database.
@@ -51,14 +48,4 @@ public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecific
      * @param id the ID of the order to delete
      */
     void deleteById(Long id);
-
-    /**
-     * Retrieves a paginated list of orders matching the given specification.
-     *
-     * @param from     the specification used for filtering
-     * @param pageable pagination and sorting information
-     * @return a page of matching orders
-     */
-    @EntityGraph(attributePaths = {"items", "items.item"})
-    Page<Order> findAll(Specification<Order> from, Pageable pageable);
 }
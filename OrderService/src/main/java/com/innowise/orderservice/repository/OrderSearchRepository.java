@@ -0,0 +1,63 @@
+package com.innowise.orderservice.repository;
+
+import com.innowise.orderservice.model.dto.OrderView;
+import com.innowise.orderservice.model.entity.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * @ClassName OrderSearchRepository
+ * @Description Repository fragment for paginated {@link Order} searches that also need the order items.
+ * @Author dshparko
+ * @Date 17.10.2026 10:05
+ * @Version 1.0
+ */
+public interface OrderSearchRepository {
+
+    /**
+     * Retrieves a page of orders matching the given specification, read as {@link OrderView} projections.
+     * <p>
+     * The page is resolved in two queries: the first selects only the order IDs of the requested page
+     * (filtering, sorting and limits are applied in SQL), the second selects only the order and line columns
+     * the DTO needs for those IDs, and the rows are assembled into orders with their item lists in one pass.
+     * No entity is instantiated, so nothing enters the persistence context and no dirty-checking snapshots
+     * are taken.
+     *
+     * @param spec     the specification used for filtering
+     * @param pageable pagination and sorting information
+     * @return a page of matching orders with their lines
+     */
+    Page<OrderView> findViewPage(Specification<Order> spec, Pageable pageable);
+
+    /**
+     * Retrieves at most {@code limit} orders matching the given specification, read as {@link OrderView}
+     * projections, without counting the total number of matches. Intended for keyset (seek) pagination where
+     * the specification itself positions the window.
+     *
+     * @param spec  the specification used for filtering and positioning
+     * @param sort  the order in which matches are walked
+     * @param limit the maximum number of orders to return
+     * @return the matching orders with their lines, in {@code sort} order
+     */
+    List<OrderView> findViews(Specification<Order> spec, Sort sort, int limit);
+
+    /**
+     * Walks all orders matching the given specification in ID order and hands them, together with their items,
+     * to {@code chunkConsumer} {@code chunkSize} at a time.
+     * <p>
+     * The matching IDs are read through a server-side cursor with a fetch size of {@code chunkSize}, and the
+     * persistence context is cleared after every chunk, so memory use does not grow with the number of matches.
+     * The orders of a chunk are detached once the consumer returns. Must be called within a transaction, which
+     * keeps the cursor open.
+     *
+     * @param spec          the specification used for filtering
+     * @param chunkSize     the number of orders handed to the consumer at once
+     * @param chunkConsumer receives each chunk of orders with initialized items
+     */
+    void forEachChunkWithItems(Specification<Order> spec, int chunkSize, Consumer<List<Order>> chunkConsumer);
+}
@@ -0,0 +1,184 @@
+package com.innowise.orderservice.repository;
+
+import com.innowise.orderservice.model.OrderStatus;
+import com.innowise.orderservice.model.dto.CreateOrderItemDto;
+import com.innowise.orderservice.model.dto.OrderView;
+import com.innowise.orderservice.model.entity.Order;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * @ClassName OrderSearchRepositoryImpl
+ * @Description Criteria based implementation of {@link OrderSearchRepository} using the ID-then-fetch strategy.
+ * @Author dshparko
+ * @Date 17.10.2026 10:12
+ * @Version 1.0
+ */
+@RequiredArgsConstructor
+public class OrderSearchRepositoryImpl implements OrderSearchRepository {
+
+    private static final String ID = "id";
+    private static final String FETCH_WITH_ITEMS = """
+            SELECT DISTINCT o FROM Order o
+            LEFT JOIN FETCH o.items i
+            LEFT JOIN FETCH i.item
+            WHERE o.id IN :ids
+            """;
+    private static final String FETCH_VIEW_ROWS = """
+            SELECT o.id, o.userId, o.status, o.creationDate, i.item.id, i.quantity
+            FROM Order o
+            LEFT JOIN o.items i
+            WHERE o.id IN :ids
+            ORDER BY i.id
+            """;
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<OrderView> findViewPage(Specification<Order> spec, Pageable pageable) {
+        TypedQuery<Long> idQuery = createIdQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            idQuery.setFirstResult(Math.toIntExact(pageable.getOffset()));
+            idQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<OrderView> orders = fetchViews(idQuery.getResultList());
+        return PageableExecutionUtils.getPage(orders, pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<OrderView> findViews(Specification<Order> spec, Sort sort, int limit) {
+        List<Long> ids = createIdQuery(spec, sort)
+                .setMaxResults(limit)
+                .getResultList();
+        return fetchViews(ids);
+    }
+
+    @Override
+    public void forEachChunkWithItems(Specification<Order> spec, int chunkSize, Consumer<List<Order>> chunkConsumer) {
+        TypedQuery<Long> idQuery = createIdQuery(spec, Sort.by(ID))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, chunkSize);
+        try (Stream<Long> ids = idQuery.getResultStream()) {
+            Iterator<Long> cursor = ids.iterator();
+            List<Long> chunk = new ArrayList<>(chunkSize);
+            while (cursor.hasNext()) {
+                chunk.add(cursor.next());
+                if (chunk.size() == chunkSize || !cursor.hasNext()) {
+                    chunkConsumer.accept(fetchWithItems(chunk));
+                    entityManager.clear();
+                    chunk.clear();
+                }
+            }
+        }
+    }
+
+    private TypedQuery<Long> createIdQuery(Specification<Order> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Order> root = query.from(Order.class);
+
+        query.select(root.get(ID));
+        applySpecification(spec, root, query, cb);
+        query.orderBy(QueryUtils.toOrders(withIdTieBreaker(sort), root, cb));
+
+        return entityManager.createQuery(query);
+    }
+
+    private List<Order> fetchWithItems(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Order> ordersById = entityManager.createQuery(FETCH_WITH_ITEMS, Order.class)
+                .setParameter("ids", ids)
+                .getResultStream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        return ids.stream()
+                .map(ordersById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * One row per order line, or a single row with empty line columns for an order without lines; each row
+     * either starts an order or adds a line to the one already seen.
+     */
+    private List<OrderView> fetchViews(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<ViewRow> rows = entityManager.createQuery(FETCH_VIEW_ROWS, ViewRow.class)
+                .setParameter("ids", ids)
+                .getResultList();
+
+        Map<Long, OrderView> ordersById = HashMap.newHashMap(ids.size());
+        for (ViewRow row : rows) {
+            OrderView order = ordersById.computeIfAbsent(row.orderId(), id ->
+                    new OrderView(id, row.userId(), row.status(), row.creationDate(), new ArrayList<>()));
+            if (row.itemId() != null) {
+                order.items().add(new CreateOrderItemDto(row.itemId(), row.quantity()));
+            }
+        }
+        return ids.stream()
+                .map(ordersById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private long count(Specification<Order> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Order> root = query.from(Order.class);
+
+        query.select(cb.count(root));
+        applySpecification(spec, root, query, cb);
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private void applySpecification(Specification<Order> spec, Root<Order> root,
+                                    CriteriaQuery<?> query, CriteriaBuilder cb) {
+        if (spec == null) {
+            return;
+        }
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+
+    /**
+     * Pages are only stable when the ordering is total, so the primary key is appended
+     * as the last sort key unless the caller already sorts by it.
+     */
+    private Sort withIdTieBreaker(Sort sort) {
+        return sort.getOrderFor(ID) != null ? sort : sort.and(Sort.by(ID));
+    }
+
+    private record ViewRow(Long orderId, Long userId, OrderStatus status, LocalDate creationDate,
+                           Long itemId, Integer quantity) {
+    }
+}
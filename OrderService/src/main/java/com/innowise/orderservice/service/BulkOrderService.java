@@ -0,0 +1,25 @@
+package com.innowise.orderservice.service;
+
+import com.innowise.orderservice.model.dto.BulkOrderResultDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Service interface for importing orders in bulk, as sent by partner systems.
+ */
+public interface BulkOrderService {
+
+    /**
+     * Imports the orders of an NDJSON stream, one {@link com.innowise.orderservice.model.dto.BulkOrderDto} per line.
+     * <p>
+     * The stream is processed in chunks: the items and users of a chunk are resolved with one lookup each, and
+     * its valid orders are written in one transaction. A line that cannot be imported is reported and skipped;
+     * it does not stop the rest of the import.
+     *
+     * @param ndjson the order stream, UTF-8 encoded
+     * @return how many orders were read and created, and why the others were rejected
+     * @throws IOException if the stream cannot be read
+     */
+    BulkOrderResultDto importOrders(InputStream ndjson) throws IOException;
+}
@@ -0,0 +1,49 @@
+package com.innowise.orderservice.service;
+
+import com.innowise.orderservice.model.entity.Item;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service interface for reading and maintaining the {@link Item} catalog.
+ * <p>
+ * Lookups are served from an in-process cache of the item IDs known to exist; writes go through this service,
+ * which evicts the written items, and items changed elsewhere are picked up once their entry expires after
+ * {@code cache.items.ttl} or is evicted.
+ */
+public interface ItemCatalogService {
+
+    /**
+     * Retrieves the items with the given identifiers.
+     * Only identifiers missing from the cache are loaded from the database, with a single query.
+     *
+     * @param ids the item IDs to resolve
+     * @return references to the found items keyed by ID, for use as order line associations; they are not loaded,
+     * and unknown IDs are absent from the map
+     */
+    Map<Long, Item> findAllByIds(Set<Long> ids);
+
+    /**
+     * Creates or updates an item and invalidates its cached entry.
+     *
+     * @param item the item to save
+     * @return the saved item
+     */
+    Item save(Item item);
+
+    /**
+     * Deletes an item and invalidates its cached entry.
+     *
+     * @param id the ID of the item to delete
+     */
+    void deleteById(Long id);
+
+    /**
+     * Drops the cached entries of the given items, so the next lookup reads them from the database. Used when a
+     * write shows that an item cached as existing was deleted outside this service.
+     *
+     * @param ids the item IDs to evict
+     */
+    void evictAll(Set<Long> ids);
+}
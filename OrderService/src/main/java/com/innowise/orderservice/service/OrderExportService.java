@@ -0,0 +1,27 @@
+package com.innowise.orderservice.service;
+
+import com.innowise.orderservice.model.ExportFormat;
+import com.innowise.orderservice.model.dto.OrderFilterDto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service interface for exporting the full order history, as pulled by admins for reconciliation.
+ */
+public interface OrderExportService {
+
+    /**
+     * Writes every order matching the filter to the given stream, in ID order.
+     * <p>
+     * Orders are read and written in chunks: the users of a chunk are fetched with one lookup, and the chunk is
+     * flushed to the stream before the next one is read, so neither the result set nor the response is held in
+     * memory.
+     *
+     * @param filter the filter criteria for the exported orders
+     * @param format the format to write, {@link ExportFormat#NDJSON} or {@link ExportFormat#CSV}
+     * @param out    the stream to write to, UTF-8 encoded; it is flushed but not closed
+     * @throws IOException if the stream cannot be written
+     */
+    void exportOrders(OrderFilterDto filter, ExportFormat format, OutputStream out) throws IOException;
+}
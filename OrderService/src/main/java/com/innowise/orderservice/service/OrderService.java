@@ -1,9 +1,11 @@
 package com.innowise.orderservice.service;
 
+import com.innowise.orderservice.model.dto.CursorPageDto;
 import com.innowise.orderservice.model.dto.OrderDto;
 import com.innowise.orderservice.model.dto.OrderFilterDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Mono;
 
 /**
  * Service interface for managing {@link com.innowise.orderservice.model.entity.Order} entities.
@@ -15,27 +17,33 @@ public interface OrderService {
     /**
      * Creates a new order based on the provided data.
      *
-     * @param createDto the data required to create a new order
+     * @param createDto  the data required to create a new order
+     * @param enrichUser whether to fetch the full user from user-service even if the JWT claims identify the caller
      * @return the created {@link OrderDto} with generated ID and details
      */
-    OrderDto createOrder(OrderDto createDto);
+    OrderDto createOrder(OrderDto createDto, boolean enrichUser);
 
     /**
      * Retrieves an order by its unique identifier.
      *
-     * @param id the ID of the order to retrieve
-     * @return the corresponding {@link OrderDto} if found
+     * Nothing is loaded until the returned {@link Mono} is subscribed to; the order is then read while the user is
+     * fetched, and the user data is added once user-service responds.
+     *
+     * @param id         the ID of the order to retrieve
+     * @param enrichUser whether to fetch the full user from user-service even if the JWT claims identify the caller
+     * @return a {@link Mono} emitting the corresponding {@link OrderDto} if found
      */
-    OrderDto getOrderById(Long id);
+    Mono<OrderDto> getOrderById(Long id, boolean enrichUser);
 
     /**
      * Updates an existing order with the provided data.
      *
      * @param id the ID of the order to update
      * @param updatedDto the updated order details
+     * @param enrichUser whether to fetch the full user from user-service even if the JWT claims identify the caller
      * @return the updated {@link OrderDto}
      */
-    OrderDto updateOrder(Long id, OrderDto updatedDto);
+    OrderDto updateOrder(Long id, OrderDto updatedDto, boolean enrichUser);
 
     /**
      * Deletes an order by its unique identifier.
@@ -49,7 +57,18 @@ public interface OrderService {
      *
      * @param filter the filter criteria for searching orders
      * @param pageable pagination and sorting information
-     * @return a paginated list of matching {@link OrderDto} results
+     * @return a {@link Mono} emitting a paginated list of matching {@link OrderDto} results
+     */
+    Mono<Page<OrderDto>> searchOrders(OrderFilterDto filter, Pageable pageable);
+
+    /**
+     * Searches for orders using filtering criteria and keyset (seek) pagination.
+     * Orders are returned newest first; no total count is computed.
+     *
+     * @param filter the filter criteria for searching orders
+     * @param after  opaque cursor returned with the previous slice, or {@code null} for the first one
+     * @param size   the maximum number of orders to return
+     * @return a {@link Mono} emitting a slice of matching {@link OrderDto} results with the cursor of the next slice
      */
-    Page<OrderDto> searchOrders(OrderFilterDto filter, Pageable pageable);
+    Mono<CursorPageDto<OrderDto>> searchOrders(OrderFilterDto filter, String after, int size);
 }
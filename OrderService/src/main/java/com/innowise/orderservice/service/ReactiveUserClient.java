@@ -0,0 +1,39 @@
+package com.innowise.orderservice.service;
+
+import com.innowise.orderservice.model.dto.userservice.UserDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link UserClient}.
+ * <p>
+ * The bearer token is read from the calling thread when the method is invoked, so the returned
+ * publishers may be subscribed on any thread.
+ */
+public interface ReactiveUserClient {
+    /**
+     * Retrieves a user by their email address.
+     *
+     * @param email the email address to search for
+     * @return a {@link Mono} emitting the {@link UserDto} if found, or an error if not
+     */
+    Mono<UserDto> getUserByEmail(String email);
+
+    /**
+     * Retrieves a user by their unique ID.
+     *
+     * @param id the user ID
+     * @return a {@link Mono} emitting the {@link UserDto} if found, or an error if not
+     */
+    Mono<UserDto> getUserById(Long id);
+
+    /**
+     * Retrieves users by their unique IDs.
+     *
+     * @param ids the users IDs
+     * @return a {@link Flux} emitting every {@link UserDto} found, or an error if none is
+     */
+    Flux<UserDto> getUsersByIds(List<Long> ids);
+}
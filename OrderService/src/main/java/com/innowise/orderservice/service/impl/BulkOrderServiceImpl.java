@@ -0,0 +1,221 @@
+package com.innowise.orderservice.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.innowise.orderservice.config.RequestDeadline;
+import com.innowise.orderservice.model.OrderStatus;
+import com.innowise.orderservice.model.dto.BulkOrderDto;
+import com.innowise.orderservice.model.dto.BulkOrderFailureDto;
+import com.innowise.orderservice.model.dto.BulkOrderResultDto;
+import com.innowise.orderservice.model.dto.CreateOrderItemDto;
+import com.innowise.orderservice.model.dto.userservice.UserDto;
+import com.innowise.orderservice.model.entity.Item;
+import com.innowise.orderservice.model.entity.Order;
+import com.innowise.orderservice.model.entity.OrderItem;
+import com.innowise.orderservice.repository.OrderRepository;
+import com.innowise.orderservice.service.BulkOrderService;
+import com.innowise.orderservice.service.ItemCatalogService;
+import com.innowise.orderservice.service.UserClient;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * @ClassName BulkOrderServiceImpl
+ * @Description Streams an NDJSON order import in chunks of {@code bulk-import.chunk-size} lines, so neither the
+ * body nor the orders of a large import are held in memory at once.
+ * @Author dshparko
+ * @Date 18.10.2026 00:10
+ * @Version 1.0
+ */
+@Service
+public class BulkOrderServiceImpl implements BulkOrderService {
+
+    private final OrderRepository orderRepository;
+    private final ItemCatalogService itemCatalogService;
+    private final UserClient userClient;
+    private final ObjectReader orderReader;
+    private final Validator validator;
+    private final int chunkSize;
+
+    public BulkOrderServiceImpl(OrderRepository orderRepository,
+                                ItemCatalogService itemCatalogService,
+                                UserClient userClient,
+                                ObjectMapper objectMapper,
+                                Validator validator,
+                                @Value("${bulk-import.chunk-size}") int chunkSize) {
+        this.orderRepository = orderRepository;
+        this.itemCatalogService = itemCatalogService;
+        this.userClient = userClient;
+        this.orderReader = objectMapper.readerFor(BulkOrderDto.class);
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public BulkOrderResultDto importOrders(InputStream ndjson) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8));
+        List<BulkOrderFailureDto> failures = new ArrayList<>();
+        List<Line> chunk = new ArrayList<>(chunkSize);
+        int received = 0;
+        int created = 0;
+        long number = 0;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            number++;
+            if (text.isBlank()) {
+                continue;
+            }
+            received++;
+            Line line = parse(number, text, failures);
+            if (line != null) {
+                chunk.add(line);
+            }
+            if (chunk.size() == chunkSize) {
+                created += importChunk(chunk, failures);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            created += importChunk(chunk, failures);
+        }
+        failures.sort(Comparator.comparingLong(BulkOrderFailureDto::line));
+        return new BulkOrderResultDto(received, created, failures);
+    }
+
+    private Line parse(long number, String text, List<BulkOrderFailureDto> failures) {
+        BulkOrderDto order;
+        try {
+            order = orderReader.readValue(text);
+        } catch (JsonProcessingException ex) {
+            failures.add(new BulkOrderFailureDto(number, "Malformed order: " + ex.getOriginalMessage()));
+            return null;
+        }
+        Set<ConstraintViolation<BulkOrderDto>> violations = validator.validate(order);
+        if (!violations.isEmpty()) {
+            failures.add(new BulkOrderFailureDto(number, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "))));
+            return null;
+        }
+        return new Line(number, order);
+    }
+
+    /**
+     * Resolves the items and users of the chunk with one lookup each and writes its valid orders with one
+     * multi-row insert. If a lookup fails, every order of the chunk is reported with that failure; if the insert
+     * fails, its orders are retried one by one, so only the orders the database really rejects are reported.
+     *
+     * @return the number of orders written
+     */
+    private int importChunk(List<Line> chunk, List<BulkOrderFailureDto> failures) {
+        Map<Long, Item> itemsById;
+        Map<Long, UserDto> usersById;
+        try {
+            RequestDeadline.checkNotExpired();
+            itemsById = itemCatalogService.findAllByIds(chunk.stream()
+                    .flatMap(line -> line.order().items().stream())
+                    .map(CreateOrderItemDto::getItemId)
+                    .collect(Collectors.toSet()));
+            usersById = userClient.getUsersByIds(chunk.stream()
+                            .map(line -> line.order().userId())
+                            .distinct()
+                            .toList())
+                    .stream()
+                    .collect(Collectors.toMap(UserDto::getId, Function.identity(), (first, duplicate) -> first));
+        } catch (RuntimeException ex) {
+            chunk.forEach(line -> failures.add(new BulkOrderFailureDto(line.number(), ex.getMessage())));
+            return 0;
+        }
+
+        List<Line> accepted = new ArrayList<>(chunk.size());
+        for (Line line : chunk) {
+            String error = check(line.order(), itemsById, usersById);
+            if (error == null) {
+                accepted.add(line);
+            } else {
+                failures.add(new BulkOrderFailureDto(line.number(), error));
+            }
+        }
+        try {
+            orderRepository.insertAll(accepted.stream()
+                    .map(line -> toOrder(line.order(), itemsById))
+                    .toList());
+            return accepted.size();
+        } catch (RuntimeException chunkFailure) {
+            return (int) accepted.stream()
+                    .filter(line -> insertAlone(line, itemsById, failures))
+                    .count();
+        }
+    }
+
+    private boolean insertAlone(Line line, Map<Long, Item> itemsById, List<BulkOrderFailureDto> failures) {
+        try {
+            orderRepository.insertAll(List.of(toOrder(line.order(), itemsById)));
+            return true;
+        } catch (RuntimeException ex) {
+            failures.add(new BulkOrderFailureDto(line.number(), ex.getMessage()));
+            return false;
+        }
+    }
+
+    private String check(BulkOrderDto order, Map<Long, Item> itemsById, Map<Long, UserDto> usersById) {
+        List<Long> missingItemIds = order.items().stream()
+                .map(CreateOrderItemDto::getItemId)
+                .filter(itemId -> !itemsById.containsKey(itemId))
+                .distinct()
+                .toList();
+        if (!missingItemIds.isEmpty()) {
+            return "Items not found: " + missingItemIds;
+        }
+        if (!usersById.containsKey(order.userId())) {
+            return "User not found by ID: " + order.userId();
+        }
+        return null;
+    }
+
+    private Order toOrder(BulkOrderDto dto, Map<Long, Item> itemsById) {
+        Order order = new Order();
+        order.setUserId(dto.userId());
+        order.setStatus(OrderStatus.NEW);
+        order.setCreationDate(LocalDate.now());
+        order.setItems(collapseQuantities(dto.items()).entrySet().stream()
+                .map(entry -> {
+                    OrderItem orderItem = new OrderItem();
+                    orderItem.setOrder(order);
+                    orderItem.setItem(itemsById.get(entry.getKey()));
+                    orderItem.setQuantity(entry.getValue());
+                    return orderItem;
+                })
+                .collect(Collectors.toCollection(ArrayList::new)));
+        return order;
+    }
+
+    private Map<Long, Integer> collapseQuantities(Collection<CreateOrderItemDto> dtos) {
+        Map<Long, Integer> quantitiesByItemId = new LinkedHashMap<>();
+        dtos.forEach(dto -> quantitiesByItemId.merge(dto.getItemId(), dto.getQuantity(), Integer::sum));
+        return quantitiesByItemId;
+    }
+
+    private record Line(long number, BulkOrderDto order) {
+    }
+}
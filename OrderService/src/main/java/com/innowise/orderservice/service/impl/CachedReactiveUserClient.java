@@ -0,0 +1,121 @@
+package com.innowise.orderservice.service.impl;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.innowise.orderservice.exception.UserNotFoundException;
+import com.innowise.orderservice.model.dto.userservice.UserDto;
+import com.innowise.orderservice.service.ReactiveUserClient;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * @ClassName CachedReactiveUserClient
+ * @Description Read-through cache in front of {@link ReactiveUserClientImpl}. It shares the user caches
+ * with {@link CachedUserClient}, so blocking and non-blocking lookups coalesce on the same in-flight futures.
+ * @Author dshparko
+ * @Date 17.10.2026 16:45
+ * @Version 1.0
+ */
+@Service
+@Primary
+public class CachedReactiveUserClient implements ReactiveUserClient {
+
+    private final ReactiveUserClient delegate;
+    private final AsyncCache<String, Optional<UserDto>> usersByEmail;
+    private final AsyncCache<Long, Optional<UserDto>> usersById;
+
+    public CachedReactiveUserClient(@Qualifier("reactiveUserClientImpl") ReactiveUserClient delegate,
+                                    AsyncCache<String, Optional<UserDto>> usersByEmail,
+                                    AsyncCache<Long, Optional<UserDto>> usersById) {
+        this.delegate = delegate;
+        this.usersByEmail = usersByEmail;
+        this.usersById = usersById;
+    }
+
+    @Override
+    public Mono<UserDto> getUserByEmail(String email) {
+        return lookup(usersByEmail, email, delegate::getUserByEmail, this::cacheById)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException("User not found by email: " + email)));
+    }
+
+    @Override
+    public Mono<UserDto> getUserById(Long id) {
+        return lookup(usersById, id, delegate::getUserById, this::cacheByEmail)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException("User not found by ID: " + id)));
+    }
+
+    /**
+     * Only IDs that are neither cached nor already being fetched are requested from user-service. A batch is not
+     * cancelled with its caller, because the users it brings are cached for everyone.
+     */
+    @Override
+    public Flux<UserDto> getUsersByIds(List<Long> ids) {
+        CompletableFuture<Map<Long, Optional<UserDto>>> users = usersById.getAll(ids,
+                (keys, executor) -> loadAll(Set.copyOf(keys)));
+        return Mono.fromFuture(users, true)
+                .flatMapIterable(Map::values)
+                .flatMap(Mono::justOrEmpty)
+                .switchIfEmpty(Flux.error(() -> new UserNotFoundException("User list is empty")));
+    }
+
+    /**
+     * The lookup is started right away, on the calling thread, so the bearer token is read there; the returned
+     * {@link SharedLookup} is then shared by every caller of the same key, and cancelled once all of them have
+     * cancelled. A lookup cancelled between the cache read and the hold has left the cache and is started anew.
+     */
+    private <K> Mono<UserDto> lookup(AsyncCache<K, Optional<UserDto>> cache, K key, Function<K, Mono<UserDto>> call,
+                                     Consumer<UserDto> cacheUnderOtherKey) {
+        CompletableFuture<Optional<UserDto>> user;
+        do {
+            user = cache.get(key, (k, executor) -> new SharedLookup<>(call.apply(k)
+                    .doOnNext(cacheUnderOtherKey)
+                    .map(Optional::of)
+                    .onErrorResume(UserNotFoundException.class, ex -> Mono.just(Optional.empty()))));
+        } while (user instanceof SharedLookup<Optional<UserDto>> shared && !shared.hold());
+
+        Mono<Optional<UserDto>> result = user instanceof SharedLookup<Optional<UserDto>> shared
+                ? shared.asMono()
+                : Mono.fromFuture(user, true);
+        return result.flatMap(Mono::justOrEmpty);
+    }
+
+    /**
+     * Requested IDs absent from the answer are cached as missing.
+     */
+    private CompletableFuture<Map<Long, Optional<UserDto>>> loadAll(Set<Long> ids) {
+        return delegate.getUsersByIds(List.copyOf(ids))
+                .doOnNext(this::cacheByEmail)
+                .collect(Collectors.toMap(UserDto::getId, Function.identity(), (first, duplicate) -> first))
+                .onErrorResume(UserNotFoundException.class, ex -> Mono.just(Map.of()))
+                .map(found -> {
+                    Map<Long, Optional<UserDto>> result = new HashMap<>();
+                    ids.forEach(id -> result.put(id, Optional.ofNullable(found.get(id))));
+                    return result;
+                })
+                .toFuture();
+    }
+
+    private void cacheById(UserDto user) {
+        if (user.getId() != null) {
+            usersById.put(user.getId(), CompletableFuture.completedFuture(Optional.of(user)));
+        }
+    }
+
+    private void cacheByEmail(UserDto user) {
+        if (user.getEmail() != null) {
+            usersByEmail.put(user.getEmail(), CompletableFuture.completedFuture(Optional.of(user)));
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.innowise.orderservice.service.impl;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.innowise.orderservice.exception.UserNotFoundException;
+import com.innowise.orderservice.model.dto.userservice.UserDto;
+import com.innowise.orderservice.service.UserClient;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * @ClassName CachedUserClient
+ * @Description Read-through cache in front of {@link UserClientImpl}, keyed by email and by ID.
+ * Users reported as missing are cached as empty values for a short time; outages are never cached.
+ * Concurrent lookups of the same user, including overlapping ID batches, share one user-service call.
+ * @Author dshparko
+ * @Date 17.10.2026 13:55
+ * @Version 1.0
+ */
+@Service
+@Primary
+public class CachedUserClient implements UserClient {
+
+    private final UserClient delegate;
+    private final AsyncCache<String, Optional<UserDto>> usersByEmail;
+    private final AsyncCache<Long, Optional<UserDto>> usersById;
+
+    public CachedUserClient(@Qualifier("userClientImpl") UserClient delegate,
+                            AsyncCache<String, Optional<UserDto>> usersByEmail,
+                            AsyncCache<Long, Optional<UserDto>> usersById) {
+        this.delegate = delegate;
+        this.usersByEmail = usersByEmail;
+        this.usersById = usersById;
+    }
+
+    @Override
+    public UserDto getUserByEmail(String email) {
+        return lookup(usersByEmail, email, () -> find(() -> delegate.getUserByEmail(email)), this::cacheById)
+                .orElseThrow(() -> new UserNotFoundException("User not found by email: " + email));
+    }
+
+    @Override
+    public UserDto getUserById(Long id) {
+        return lookup(usersById, id, () -> find(() -> delegate.getUserById(id)), this::cacheByEmail)
+                .orElseThrow(() -> new UserNotFoundException("User not found by ID: " + id));
+    }
+
+    /**
+     * IDs already cached or being fetched by another caller are not requested again;
+     * the remaining misses go to user-service in one call.
+     */
+    @Override
+    public List<UserDto> getUsersByIds(List<Long> ids) {
+        CompletableFuture<Map<Long, Optional<UserDto>>> flight = new CompletableFuture<>();
+        Set<Long> misses = new HashSet<>();
+        CompletableFuture<Map<Long, Optional<UserDto>>> result = usersById.getAll(ids, (keys, executor) -> {
+            misses.addAll(keys);
+            return flight;
+        });
+        if (!misses.isEmpty()) {
+            complete(flight, () -> loadAll(misses));
+        }
+
+        List<UserDto> users = await(result).values().stream()
+                .flatMap(Optional::stream)
+                .toList();
+        if (users.isEmpty()) {
+            throw new UserNotFoundException("User list is empty");
+        }
+        return users;
+    }
+
+    /**
+     * The first caller for a key calls user-service on its own thread, so the call keeps the caller's
+     * security context; concurrent callers for the same key wait for that call's result or error. A lookup
+     * started by {@link CachedReactiveUserClient} is held while waiting, so its reactive callers cannot cancel it.
+     */
+    private <K> Optional<UserDto> lookup(AsyncCache<K, Optional<UserDto>> cache, K key,
+                                         Supplier<Optional<UserDto>> call, Consumer<UserDto> cacheUnderOtherKey) {
+        CompletableFuture<Optional<UserDto>> flight = new CompletableFuture<>();
+        CompletableFuture<Optional<UserDto>> result;
+        do {
+            result = cache.get(key, (k, executor) -> flight);
+        } while (result instanceof SharedLookup<Optional<UserDto>> shared && !shared.hold());
+
+        if (result == flight) {
+            complete(flight, () -> {
+                Optional<UserDto> user = call.get();
+                user.ifPresent(cacheUnderOtherKey);
+                return user;
+            });
+        }
+        try {
+            return await(result);
+        } finally {
+            if (result instanceof SharedLookup<Optional<UserDto>> shared) {
+                shared.release(false);
+            }
+        }
+    }
+
+    private Optional<UserDto> find(Supplier<UserDto> call) {
+        try {
+            return Optional.ofNullable(call.get());
+        } catch (UserNotFoundException ex) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Requested IDs absent from the answer are cached as missing.
+     */
+    private Map<Long, Optional<UserDto>> loadAll(Set<Long> ids) {
+        Map<Long, UserDto> found = fetchAll(List.copyOf(ids));
+        found.values().forEach(this::cacheByEmail);
+
+        Map<Long, Optional<UserDto>> result = new HashMap<>();
+        ids.forEach(id -> result.put(id, Optional.ofNullable(found.get(id))));
+        return result;
+    }
+
+    private Map<Long, UserDto> fetchAll(List<Long> ids) {
+        try {
+            return delegate.getUsersByIds(ids).stream()
+                    .collect(Collectors.toMap(UserDto::getId, Function.identity(), (first, duplicate) -> first));
+        } catch (UserNotFoundException ex) {
+            return Map.of();
+        }
+    }
+
+    private void cacheById(UserDto user) {
+        if (user.getId() != null) {
+            usersById.put(user.getId(), CompletableFuture.completedFuture(Optional.of(user)));
+        }
+    }
+
+    private void cacheByEmail(UserDto user) {
+        if (user.getEmail() != null) {
+            usersByEmail.put(user.getEmail(), CompletableFuture.completedFuture(Optional.of(user)));
+        }
+    }
+
+    private static <T> void complete(CompletableFuture<T> flight, Supplier<T> call) {
+        try {
+            flight.complete(call.get());
+        } catch (RuntimeException ex) {
+            flight.completeExceptionally(ex);
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.innowise.orderservice.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.innowise.orderservice.model.entity.Item;
+import com.innowise.orderservice.repository.ItemRepository;
+import com.innowise.orderservice.service.ItemCatalogService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * @ClassName ItemCatalogServiceImpl
+ * @Description Read-through cache in front of {@link ItemRepository}. Order lines need nothing of an item but its
+ * ID as their foreign key, so the cache only records which IDs exist, and callers get entity references for them;
+ * no entity is ever shared between requests.
+ * @Author dshparko
+ * @Date 17.10.2026 12:31
+ * @Version 1.0
+ */
+@Service
+@RequiredArgsConstructor
+public class ItemCatalogServiceImpl implements ItemCatalogService {
+
+    private final ItemRepository itemRepository;
+    private final Cache<Long, Boolean> knownItemIds;
+
+    @Override
+    public Map<Long, Item> findAllByIds(Set<Long> ids) {
+        return knownItemIds.getAll(ids, this::loadExisting).keySet().stream()
+                .collect(Collectors.toMap(Function.identity(), itemRepository::getReferenceById));
+    }
+
+    @Override
+    @Transactional
+    public Item save(Item item) {
+        Item saved = itemRepository.save(item);
+        evict(saved.getId());
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public void deleteById(Long id) {
+        itemRepository.deleteById(id);
+        evict(id);
+    }
+
+    @Override
+    public void evictAll(Set<Long> ids) {
+        knownItemIds.invalidateAll(ids);
+    }
+
+    private Map<Long, Boolean> loadExisting(Set<? extends Long> ids) {
+        return itemRepository.findAllById(Set.copyOf(ids)).stream()
+                .collect(Collectors.toMap(Item::getId, item -> Boolean.TRUE));
+    }
+
+    /**
+     * Evicts right away and once more when the transaction completes, so a concurrent reader
+     * cannot re-populate the entry with the row as it was before this transaction.
+     */
+    private void evict(Long id) {
+        knownItemIds.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    knownItemIds.invalidate(id);
+                }
+            });
+        }
+    }
+}
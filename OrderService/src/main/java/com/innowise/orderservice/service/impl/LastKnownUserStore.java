@@ -0,0 +1,92 @@
+package com.innowise.orderservice.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.innowise.orderservice.model.dto.userservice.UserDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @ClassName LastKnownUserStore
+ * @Description Keeps the last user-service answer for every user long after the user caches expired,
+ * so the user clients can fall back to it while user-service is unavailable. Every user served from here
+ * is marked {@link UserDto#isStale() stale} and its ID queued for a refresh; nothing of the caller is kept.
+ * @Author dshparko
+ * @Date 17.10.2026 17:20
+ * @Version 1.0
+ */
+@Component
+public class LastKnownUserStore {
+
+    private final Cache<Long, UserDto> usersById;
+    private final Cache<String, UserDto> usersByEmail;
+    private final Set<Long> pendingRefresh = ConcurrentHashMap.newKeySet();
+    private final long maxSize;
+
+    public LastKnownUserStore(@Value("${cache.users.max-size}") long maxSize,
+                              @Value("${cache.users.stale-ttl}") Duration staleTtl) {
+        this.maxSize = maxSize;
+        this.usersById = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(staleTtl).build();
+        this.usersByEmail = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(staleTtl).build();
+    }
+
+    public void remember(UserDto user) {
+        if (user.isStale()) {
+            return;
+        }
+        if (user.getId() != null) {
+            usersById.put(user.getId(), user);
+            pendingRefresh.remove(user.getId());
+        }
+        if (user.getEmail() != null) {
+            usersByEmail.put(user.getEmail(), user);
+        }
+    }
+
+    public Optional<UserDto> findByEmail(String email) {
+        return Optional.ofNullable(usersByEmail.getIfPresent(email))
+                .map(this::serveStale);
+    }
+
+    public Optional<UserDto> findById(Long id) {
+        return Optional.ofNullable(usersById.getIfPresent(id))
+                .map(this::serveStale);
+    }
+
+    public List<UserDto> findByIds(List<Long> ids) {
+        return ids.stream()
+                .distinct()
+                .map(usersById::getIfPresent)
+                .filter(Objects::nonNull)
+                .map(this::serveStale)
+                .toList();
+    }
+
+    /**
+     * Hands over the IDs of the users served stale so far.
+     */
+    public List<Long> drainPendingRefresh() {
+        List<Long> drained = new ArrayList<>();
+        pendingRefresh.removeIf(drained::add);
+        return drained;
+    }
+
+    /**
+     * At most {@code cache.users.max-size} IDs are queued; the rest are queued again the next time they are
+     * served after a drain.
+     */
+    private UserDto serveStale(UserDto user) {
+        if (user.getId() != null && pendingRefresh.size() < maxSize) {
+            pendingRefresh.add(user.getId());
+        }
+        return user.asStale();
+    }
+}
@@ -0,0 +1,171 @@
+package com.innowise.orderservice.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.innowise.orderservice.mapper.OrderMapper;
+import com.innowise.orderservice.model.ExportFormat;
+import com.innowise.orderservice.model.dto.CreateOrderItemDto;
+import com.innowise.orderservice.model.dto.OrderDto;
+import com.innowise.orderservice.model.dto.OrderFilterDto;
+import com.innowise.orderservice.model.dto.userservice.UserDto;
+import com.innowise.orderservice.model.entity.Order;
+import com.innowise.orderservice.repository.OrderRepository;
+import com.innowise.orderservice.service.OrderExportService;
+import com.innowise.orderservice.service.UserClient;
+import com.innowise.orderservice.specification.OrderSpecification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * @ClassName OrderExportServiceImpl
+ * @Description Streams matching orders to the response in chunks of {@code export.chunk-size}, reading them through
+ * a server-side cursor in one read-only transaction, so heap use stays flat however many orders match.
+ * @Author dshparko
+ * @Date 18.10.2026 01:15
+ * @Version 1.0
+ */
+@Service
+public class OrderExportServiceImpl implements OrderExportService {
+
+    private static final String CSV_HEADER =
+            "order_id,status,creation_date,user_id,user_email,user_name,user_surname,item_id,quantity";
+
+    private final OrderRepository orderRepository;
+    private final OrderMapper orderMapper;
+    private final UserClient userClient;
+    private final ObjectWriter orderWriter;
+    private final int chunkSize;
+
+    public OrderExportServiceImpl(OrderRepository orderRepository,
+                                  OrderMapper orderMapper,
+                                  UserClient userClient,
+                                  ObjectMapper objectMapper,
+                                  @Value("${export.chunk-size}") int chunkSize) {
+        this.orderRepository = orderRepository;
+        this.orderMapper = orderMapper;
+        this.userClient = userClient;
+        this.orderWriter = objectMapper.writerFor(OrderDto.class);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportOrders(OrderFilterDto filter, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        try {
+            orderRepository.forEachChunkWithItems(OrderSpecification.from(filter), chunkSize, chunk -> {
+                try {
+                    writeChunk(chunk, format, writer);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        writer.flush();
+    }
+
+    /**
+     * The users of the chunk are fetched with one lookup while the next chunk is still unread, and the chunk is
+     * flushed, so the client receives orders as they are read.
+     */
+    private void writeChunk(List<Order> chunk, ExportFormat format, Writer writer) throws IOException {
+        Map<Long, UserDto> usersById = fetchUsers(chunk.stream()
+                .map(Order::getUserId)
+                .distinct()
+                .toList());
+        for (Order order : chunk) {
+            UserDto user = usersById.getOrDefault(order.getUserId(), unknownUser(order.getUserId()));
+            OrderDto dto = orderMapper.map(order);
+            OrderDto enriched = new OrderDto(dto.id(), dto.status(), dto.creationDate(), dto.items(), user);
+            switch (format) {
+                case NDJSON -> writeNdjson(enriched, writer);
+                case CSV -> writeCsv(enriched, writer);
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * The response is already committed once the first chunk is written, so a failure here could only truncate the
+     * file: whether user-service knows none of the users or is unavailable without last-known copies, the orders of
+     * the chunk are exported with their owner's ID only.
+     */
+    private Map<Long, UserDto> fetchUsers(List<Long> userIds) {
+        try {
+            return userClient.getUsersByIds(userIds).stream()
+                    .collect(Collectors.toMap(UserDto::getId, Function.identity(), (first, duplicate) -> first));
+        } catch (RuntimeException ex) {
+            return Map.of();
+        }
+    }
+
+    /**
+     * Users that user-service no longer knows are exported with their ID only, so every order keeps its owner.
+     */
+    private static UserDto unknownUser(Long userId) {
+        return new UserDto(userId, null, null, null, null, List.of());
+    }
+
+    private void writeNdjson(OrderDto order, Writer writer) throws IOException {
+        writer.write(orderWriter.writeValueAsString(order));
+        writer.write('\n');
+    }
+
+    /**
+     * One row per order line; an order without lines still gets a row, with the item columns left empty.
+     */
+    private void writeCsv(OrderDto order, Writer writer) throws IOException {
+        String orderColumns = String.join(",",
+                String.valueOf(order.id()),
+                String.valueOf(order.status()),
+                String.valueOf(order.creationDate()),
+                String.valueOf(order.user().getId()),
+                csv(order.user().getEmail()),
+                csv(order.user().getName()),
+                csv(order.user().getSurname()));
+        if (order.items().isEmpty()) {
+            writer.write(orderColumns);
+            writer.write(",,\n");
+            return;
+        }
+        for (CreateOrderItemDto line : order.items()) {
+            writer.write(orderColumns);
+            writer.write(',');
+            writer.write(String.valueOf(line.getItemId()));
+            writer.write(',');
+            writer.write(String.valueOf(line.getQuantity()));
+            writer.write('\n');
+        }
+    }
+
+    /**
+     * Quotes a free-text value when it contains a separator, a quote or a line break, doubling inner quotes.
+     */
+    private static String csv(String value) {
+        String text = Objects.toString(value, "");
+        if (text.chars().noneMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r')) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
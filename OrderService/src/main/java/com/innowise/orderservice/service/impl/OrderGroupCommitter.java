@@ -0,0 +1,260 @@
+package com.innowise.orderservice.service.impl;
+
+import com.innowise.orderservice.config.RequestDeadline;
+import com.innowise.orderservice.exception.DeadlineExceededException;
+import com.innowise.orderservice.model.entity.Order;
+import com.innowise.orderservice.repository.OrderRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @ClassName OrderGroupCommitter
+ * @Description Optional write path for new orders. A single writer thread collects the orders submitted by
+ * concurrent requests for up to {@code group-commit.window}, or until {@code group-commit.max-size} are waiting,
+ * and inserts them in one transaction with batched statements, so a burst of small orders pays for one commit
+ * instead of one each.
+ * @Author dshparko
+ * @Date 18.10.2026 00:40
+ * @Version 1.0
+ */
+@Component
+public class OrderGroupCommitter {
+
+    private static final String GROUP_SIZE_METRIC = "orders.group-commit.size";
+    private static final Duration IDLE_POLL = Duration.ofMillis(500);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration MAX_WAIT = Duration.ofSeconds(30);
+    private static final String NOT_RUNNING = "Group commit is not running";
+
+    private final OrderRepository orderRepository;
+    private final boolean enabled;
+    private final Duration window;
+    private final int maxGroupSize;
+    private final DistributionSummary groupSizes;
+
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean running;
+
+    public OrderGroupCommitter(OrderRepository orderRepository,
+                               @Value("${group-commit.enabled}") boolean enabled,
+                               @Value("${group-commit.window}") Duration window,
+                               @Value("${group-commit.max-size}") int maxGroupSize,
+                               MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        this.enabled = enabled;
+        this.window = window;
+        this.maxGroupSize = maxGroupSize;
+        this.groupSizes = DistributionSummary.builder(GROUP_SIZE_METRIC)
+                .description("Number of orders inserted by one group commit")
+                .register(meterRegistry);
+        this.writer = Thread.ofPlatform().name("order-group-commit").daemon().unstarted(this::run);
+        if (enabled) {
+            running = true;
+            writer.start();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Hands a new order to the writer and waits until its group is committed. The caller stops waiting at the
+     * request deadline or after {@link #MAX_WAIT}, whichever comes first, but only while the order is still
+     * queued: once the writer has taken it into an insert, the caller waits for that insert to decide, so an
+     * order is never committed after its caller was told it was not. The order and its items have their IDs
+     * set once this returns.
+     *
+     * @param order a new order whose items reference existing items
+     * @return the same order, inserted
+     * @throws DeadlineExceededException if the order was not taken into an insert in time
+     */
+    public Order commit(Order order) {
+        RequestDeadline.checkNotExpired();
+        Duration wait = RequestDeadline.remaining()
+                .filter(left -> left.compareTo(MAX_WAIT) < 0)
+                .orElse(MAX_WAIT);
+        Pending pending = new Pending(order, System.nanoTime() + wait.toNanos());
+        if (!running) {
+            throw new IllegalStateException(NOT_RUNNING);
+        }
+        queue.add(pending);
+        if (!running) {
+            failQueued(new IllegalStateException(NOT_RUNNING));
+        }
+        try {
+            return await(pending, wait);
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static Order await(Pending pending, Duration wait) {
+        try {
+            return pending.result().get(wait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            if (pending.abandon()) {
+                throw new DeadlineExceededException("Order was not written before the request deadline");
+            }
+            return pending.result().join();
+        } catch (ExecutionException ex) {
+            throw new CompletionException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            if (pending.abandon()) {
+                throw new IllegalStateException("Interrupted while waiting for the order to be written", ex);
+            }
+            return pending.result().join();
+        }
+    }
+
+    /**
+     * Stops taking orders, lets the writer commit those already queued, and fails any that arrive too late.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(SHUTDOWN_TIMEOUT.toMillis());
+        failQueued(new IllegalStateException(NOT_RUNNING));
+    }
+
+    /**
+     * If the writer dies, the group it held and everything still queued is failed, and later orders are
+     * refused, so no caller waits for a writer that is gone.
+     */
+    private void run() {
+        List<Pending> group = new ArrayList<>(maxGroupSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                collect(group);
+                write(group);
+                group.clear();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+            fail(group, new IllegalStateException(NOT_RUNNING, ex));
+        } catch (Throwable ex) {
+            running = false;
+            fail(group, ex);
+            throw ex;
+        } finally {
+            running = false;
+            failQueued(new IllegalStateException(NOT_RUNNING));
+        }
+    }
+
+    /**
+     * Waits for the first order, then keeps collecting until the window closes or the group is full. The wait
+     * for the first order is bounded, so the writer notices a shutdown.
+     */
+    private void collect(List<Pending> group) throws InterruptedException {
+        Pending first = queue.poll(IDLE_POLL.toNanos(), TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        group.add(first);
+        long closesAt = System.nanoTime() + window.toNanos();
+        while (group.size() < maxGroupSize) {
+            Pending next = queue.poll(closesAt - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            group.add(next);
+        }
+    }
+
+    /**
+     * Each order is claimed before the insert; orders whose caller has stopped waiting, or whose deadline has
+     * passed, cannot be claimed and are dropped rather than written behind the caller's back. If the group
+     * fails, its orders are retried one by one, so a single bad order fails only its own request.
+     */
+    private void write(List<Pending> group) {
+        if (group.isEmpty()) {
+            return;
+        }
+        List<Pending> live = new ArrayList<>(group.size());
+        for (Pending pending : group) {
+            if (pending.isExpired() && pending.abandon()) {
+                pending.result().completeExceptionally(
+                        new DeadlineExceededException("Request deadline exceeded before the order was written"));
+            } else if (pending.claim()) {
+                live.add(pending);
+            }
+        }
+        if (live.isEmpty()) {
+            return;
+        }
+        groupSizes.record(live.size());
+        try {
+            orderRepository.insertAll(live.stream().map(Pending::order).toList());
+            live.forEach(pending -> pending.result().complete(pending.order()));
+        } catch (RuntimeException groupFailure) {
+            live.forEach(this::writeAlone);
+        }
+    }
+
+    private void writeAlone(Pending pending) {
+        try {
+            orderRepository.insertAll(List.of(pending.order()));
+            pending.result().complete(pending.order());
+        } catch (RuntimeException ex) {
+            pending.result().completeExceptionally(ex);
+        }
+    }
+
+    private void failQueued(Throwable failure) {
+        List<Pending> late = new ArrayList<>();
+        queue.drainTo(late);
+        fail(late, failure);
+    }
+
+    private static void fail(List<Pending> pendings, Throwable failure) {
+        pendings.forEach(pending -> pending.result().completeExceptionally(failure));
+    }
+
+    private enum State { QUEUED, CLAIMED, ABANDONED }
+
+    /**
+     * An order waiting for the writer. It leaves {@link State#QUEUED} exactly once: claimed by the writer for an
+     * insert, or abandoned by its caller or the writer because the wait is over.
+     */
+    private record Pending(Order order, long expiresAtNanos, CompletableFuture<Order> result,
+                           AtomicReference<State> state) {
+
+        Pending(Order order, long expiresAtNanos) {
+            this(order, expiresAtNanos, new CompletableFuture<>(), new AtomicReference<>(State.QUEUED));
+        }
+
+        boolean isExpired() {
+            return expiresAtNanos - System.nanoTime() <= 0;
+        }
+
+        boolean claim() {
+            return state.compareAndSet(State.QUEUED, State.CLAIMED);
+        }
+
+        boolean abandon() {
+            return state.compareAndSet(State.QUEUED, State.ABANDONED);
+        }
+    }
+}
@@ -1,32 +1,50 @@
 package com.innowise.orderservice.service.impl;
 
 import com.innowise.orderservice.config.JwtEmailExtractor;
+import com.innowise.orderservice.config.RequestDeadline;
 import com.innowise.orderservice.exception.ResourceNotFoundException;
 import com.innowise.orderservice.mapper.OrderMapper;
 import com.innowise.orderservice.model.OrderStatus;
 import com.innowise.orderservice.model.dto.CreateOrderItemDto;
+import com.innowise.orderservice.model.dto.CursorPageDto;
+import com.innowise.orderservice.model.dto.OrderCursor;
 import com.innowise.orderservice.model.dto.OrderDto;
 import com.innowise.orderservice.model.dto.OrderFilterDto;
+import com.innowise.orderservice.model.dto.OrderView;
 import com.innowise.orderservice.model.dto.userservice.UserDto;
 import com.innowise.orderservice.model.entity.Item;
 import com.innowise.orderservice.model.entity.Order;
 import com.innowise.orderservice.model.entity.OrderItem;
-import com.innowise.orderservice.repository.ItemRepository;
 import com.innowise.orderservice.repository.OrderRepository;
+import com.innowise.orderservice.service.ItemCatalogService;
 import com.innowise.orderservice.service.OrderService;
+import com.innowise.orderservice.service.ReactiveUserClient;
 import com.innowise.orderservice.service.UserClient;
 import com.innowise.orderservice.specification.OrderSpecification;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
 import org.springframework.stereotype.Service;
 
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.StructuredTaskScope.Subtask;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -41,48 +59,80 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 2000;
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Direction.DESC, "creationDate", "id");
+
     private final OrderRepository orderRepository;
-    private final ItemRepository itemRepository;
+    private final ItemCatalogService itemCatalogService;
     private final OrderMapper orderMapper;
     private final UserClient userClient;
+    private final ReactiveUserClient reactiveUserClient;
     private final JwtEmailExtractor jwtEmailExtractor;
+    private final TransactionOperations readOnlyTransaction;
+    private final OrderGroupCommitter orderGroupCommitter;
 
-    @Transactional
-    public OrderDto createOrder(OrderDto createDto) {
+    /**
+     * The order is written in a transaction of its own, or, in group-commit mode, together with the orders of
+     * concurrent requests; either way no connection is held while the caller and the items are resolved.
+     */
+    public OrderDto createOrder(OrderDto createDto, boolean enrichUser) {
         Order order = orderMapper.map(createDto);
         order.setCreationDate(LocalDate.now());
         order.setStatus(OrderStatus.NEW);
 
-        UserDto user = fetchUserByEmail();
+        UserDto user = resolveCaller(enrichUser);
         order.setUserId(user.getId());
 
-        enrichItems(order.getItems(), order);
-        Order saved = orderRepository.save(order);
+        order.setItems(enrichItems(order.getItems(), order));
+        Order saved = write(order);
 
         return enrichWithUser(orderMapper.map(saved), user);
     }
 
-    @Transactional(readOnly = true)
-    public OrderDto getOrderById(Long id) {
-        Order order = findOrderById(id);
-        UserDto user = fetchUserByEmail();
-        return enrichWithUser(orderMapper.map(order), user);
+    /**
+     * The order is loaded on a worker thread, under the caller's security context and request deadline, while
+     * the user is fetched; if either fails, or the deadline passes, the other is cancelled.
+     */
+    public Mono<OrderDto> getOrderById(Long id, boolean enrichUser) {
+        Mono<OrderDto> order = Mono.fromCallable(RequestDeadline.propagate(new DelegatingSecurityContextCallable<>(() ->
+                        readOnlyTransaction.execute(status -> orderMapper.map(findOrderById(id))))))
+                .subscribeOn(Schedulers.boundedElastic());
+        Optional<UserDto> caller = callerFromClaims(enrichUser);
+        if (caller.isPresent()) {
+            return RequestDeadline.bound(order.map(dto -> enrichWithUser(dto, caller.get())));
+        }
+        String email = jwtEmailExtractor.extractEmail();
+        return RequestDeadline.bound(Mono.zip(order, reactiveUserClient.getUserByEmail(email), this::enrichWithUser));
     }
 
+    /**
+     * The transaction stays on the calling thread, while the user is fetched on a forked one. Cancellation only
+     * goes one way: a failed update cancels the user call, but a failed user call cannot stop the update, which
+     * runs to its end and is then rolled back.
+     */
     @Transactional
-    public OrderDto updateOrder(Long id, OrderDto updatedDto) {
-        Order existing = findOrderById(id);
-
-        validateStatusTransition(existing.getStatus(), updatedDto.status());
-        existing.setStatus(updatedDto.status());
-
-        List<OrderItem> mergedItems = mergeOrderItems(existing, updatedDto.items());
-        existing.setItems(mergedItems);
-
-        Order saved = orderRepository.save(existing);
-        UserDto user = fetchUserByEmail();
+    public OrderDto updateOrder(Long id, OrderDto updatedDto, boolean enrichUser) {
+        Optional<UserDto> caller = callerFromClaims(enrichUser);
+        if (caller.isPresent()) {
+            return enrichWithUser(orderMapper.map(applyUpdate(id, updatedDto)), caller.get());
+        }
 
-        return enrichWithUser(orderMapper.map(saved), user);
+        try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
+            Subtask<UserDto> user = scope.fork(RequestDeadline.propagate(new DelegatingSecurityContextCallable<>(this::fetchUserByEmail)));
+            OrderDto updated;
+            try {
+                updated = orderMapper.map(applyUpdate(id, updatedDto));
+            } catch (RuntimeException ex) {
+                scope.shutdown();
+                scope.join();
+                throw ex;
+            }
+            scope.join().throwIfFailed(OrderServiceImpl::propagate);
+            return enrichWithUser(updated, user.get());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching the user", ex);
+        }
     }
 
     @Transactional
@@ -91,45 +141,90 @@ public class OrderServiceImpl implements OrderService {
         orderRepository.delete(order);
     }
 
-    @Transactional(readOnly = true)
-    public Page<OrderDto> searchOrders(OrderFilterDto filter, Pageable pageable) {
-        Page<Order> orders = orderRepository.findAll(OrderSpecification.from(filter), pageable);
-        List<Long> userIds = orders.stream()
-                .map(Order::getUserId)
-                .distinct()
-                .toList();
+    /**
+     * Orders are read as projections with their lines, bypassing the persistence context, and turned into DTOs
+     * once the users have arrived.
+     */
+    public Mono<Page<OrderDto>> searchOrders(OrderFilterDto filter, Pageable pageable) {
+        Page<OrderView> orders = readOnlyTransaction.execute(status ->
+                orderRepository.findViewPage(OrderSpecification.from(filter), pageable));
 
-        Map<Long, UserDto> userMap = fetchUsersByIds(userIds);
+        return RequestDeadline.bound(fetchUsersOf(orders.getContent()).map(userMap ->
+                orders.map(order -> order.toDto(userMap.get(order.userId())))));
+    }
 
-        return orders.map(order -> {
-            OrderDto dto = orderMapper.map(order);
-            UserDto user = userMap.get(order.getUserId());
-            return enrichWithUser(dto, user);
-        });
+    public Mono<CursorPageDto<OrderDto>> searchOrders(OrderFilterDto filter, String after, int size) {
+        int limit = Math.clamp(size, 1, MAX_CURSOR_PAGE_SIZE);
+        Specification<Order> spec = OrderSpecification.from(filter)
+                .and(OrderSpecification.after(OrderCursor.decode(after)));
+
+        List<OrderView> orders = readOnlyTransaction.execute(status ->
+                orderRepository.findViews(spec, KEYSET_SORT, limit + 1));
+        boolean hasNext = orders.size() > limit;
+        List<OrderView> slice = hasNext ? orders.subList(0, limit) : orders;
+        String nextCursor = hasNext ? OrderCursor.of(slice.get(limit - 1)).encode() : null;
+
+        return RequestDeadline.bound(fetchUsersOf(slice).map(userMap -> {
+            List<OrderDto> content = slice.stream()
+                    .map(order -> order.toDto(userMap.get(order.userId())))
+                    .toList();
+            return new CursorPageDto<>(content, limit, nextCursor);
+        }));
     }
 
     private List<OrderItem> mergeOrderItems(Order existing, List<CreateOrderItemDto> incomingDtos) {
         Map<Long, OrderItem> existingItemsByItemId = existing.getItems().stream()
-                .collect(Collectors.toMap(item -> item.getItem().getId(), Function.identity()));
-
-        return incomingDtos.stream().map(dtoItem -> {
-            Long itemId = dtoItem.getItemId();
-            Item itemEntity = itemRepository.findById(itemId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Item not found: " + itemId));
+                .collect(Collectors.toMap(item -> item.getItem().getId(), Function.identity(), (first, duplicate) -> first));
+        Map<Long, Integer> quantitiesByItemId = collapseQuantities(incomingDtos);
+        Map<Long, Item> itemsById = resolveItems(quantitiesByItemId.keySet());
 
+        return quantitiesByItemId.entrySet().stream().map(entry -> {
+            Long itemId = entry.getKey();
             OrderItem existingItem = existingItemsByItemId.get(itemId);
             if (existingItem != null) {
-                existingItem.setQuantity(dtoItem.getQuantity());
+                existingItem.setQuantity(entry.getValue());
                 return existingItem;
             } else {
-                OrderItem newItem = orderMapper.map(dtoItem);
+                OrderItem newItem = orderMapper.map(new CreateOrderItemDto(itemId, entry.getValue()));
                 newItem.setOrder(existing);
-                newItem.setItem(itemEntity);
+                newItem.setItem(itemsById.get(itemId));
                 return newItem;
             }
         }).toList();
     }
 
+    private Order applyUpdate(Long id, OrderDto updatedDto) {
+        Order existing = findOrderById(id);
+
+        validateStatusTransition(existing.getStatus(), updatedDto.status());
+        existing.setStatus(updatedDto.status());
+
+        List<OrderItem> mergedItems = mergeOrderItems(existing, updatedDto.items());
+        existing.getItems().clear();
+        existing.getItems().addAll(mergedItems);
+
+        return orderRepository.save(existing);
+    }
+
+    /**
+     * An item cached as existing may have been deleted since; the foreign key then rejects the order. Its items
+     * are evicted and resolved again, so such an order fails with the same "not found" as an unknown item.
+     */
+    private Order write(Order order) {
+        try {
+            return orderGroupCommitter.isEnabled()
+                    ? orderGroupCommitter.commit(order)
+                    : orderRepository.save(order);
+        } catch (DataIntegrityViolationException ex) {
+            Set<Long> itemIds = order.getItems().stream()
+                    .map(orderItem -> orderItem.getItem().getId())
+                    .collect(Collectors.toSet());
+            itemCatalogService.evictAll(itemIds);
+            resolveItems(itemIds);
+            throw ex;
+        }
+    }
+
     private Order findOrderById(Long id) {
         return orderRepository.findByIdWithItems(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found: " + id));
@@ -141,14 +236,57 @@ public class OrderServiceImpl implements OrderService {
         }
     }
 
-    private void enrichItems(List<OrderItem> items, Order order) {
-        items.forEach(orderItem -> {
+    private List<OrderItem> enrichItems(List<OrderItem> items, Order order) {
+        Map<Long, OrderItem> linesByItemId = new LinkedHashMap<>();
+        items.forEach(orderItem -> linesByItemId.merge(orderItem.getItem().getId(), orderItem, (first, duplicate) -> {
+            first.setQuantity(first.getQuantity() + duplicate.getQuantity());
+            return first;
+        }));
+
+        Map<Long, Item> itemsById = resolveItems(linesByItemId.keySet());
+        linesByItemId.forEach((itemId, orderItem) -> {
             orderItem.setOrder(order);
-            Long itemId = orderItem.getItem().getId();
-            Item item = itemRepository.findById(itemId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Item not found: " + itemId));
-            orderItem.setItem(item);
+            orderItem.setItem(itemsById.get(itemId));
         });
+        return new ArrayList<>(linesByItemId.values());
+    }
+
+    private Map<Long, Integer> collapseQuantities(List<CreateOrderItemDto> dtos) {
+        Map<Long, Integer> quantitiesByItemId = new LinkedHashMap<>();
+        dtos.forEach(dto -> quantitiesByItemId.merge(dto.getItemId(), dto.getQuantity(), Integer::sum));
+        return quantitiesByItemId;
+    }
+
+    /**
+     * Resolves all referenced items through the catalog, which issues at most one query for the cache misses.
+     * Every missing ID is reported at once instead of failing on the first one.
+     */
+    private Map<Long, Item> resolveItems(Set<Long> itemIds) {
+        Map<Long, Item> itemsById = itemCatalogService.findAllByIds(itemIds);
+
+        List<Long> missingIds = itemIds.stream()
+                .filter(itemId -> !itemsById.containsKey(itemId))
+                .toList();
+        if (!missingIds.isEmpty()) {
+            throw new ResourceNotFoundException("Items not found: " + missingIds);
+        }
+        return itemsById;
+    }
+
+    private UserDto resolveCaller(boolean enrichUser) {
+        return callerFromClaims(enrichUser).orElseGet(this::fetchUserByEmail);
+    }
+
+    /**
+     * The caller as read from the JWT claims, unless the full user was asked for or the token carries no user ID.
+     */
+    private Optional<UserDto> callerFromClaims(boolean enrichUser) {
+        if (enrichUser) {
+            return Optional.empty();
+        }
+        return jwtEmailExtractor.extractClaimsPrincipal()
+                .map(principal -> new UserDto(principal.userId(), principal.name(), principal.surname(),
+                        principal.email(), null, List.of()));
     }
 
     private UserDto fetchUserByEmail() {
@@ -157,12 +295,26 @@ public class OrderServiceImpl implements OrderService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found by email: " + email));
     }
 
-    private Map<Long, UserDto> fetchUsersByIds(List<Long> userIds) {
-        List<UserDto> users = userClient.getUsersByIds(userIds);
-        return users.stream().collect(Collectors.toMap(UserDto::getId, Function.identity()));
+    private Mono<Map<Long, UserDto>> fetchUsersOf(Collection<OrderView> orders) {
+        List<Long> userIds = orders.stream()
+                .map(OrderView::userId)
+                .distinct()
+                .toList();
+        return fetchUsersByIds(userIds);
+    }
+
+    private Mono<Map<Long, UserDto>> fetchUsersByIds(List<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return reactiveUserClient.getUsersByIds(userIds).collectMap(UserDto::getId);
     }
 
     private OrderDto enrichWithUser(OrderDto dto, UserDto user) {
         return new OrderDto(dto.id(), dto.status(), dto.creationDate(), dto.items(), user);
     }
+
+    private static RuntimeException propagate(Throwable failure) {
+        return failure instanceof RuntimeException runtime ? runtime : new IllegalStateException(failure);
+    }
 }
@@ -0,0 +1,213 @@
+package com.innowise.orderservice.service.impl;
+
+import com.innowise.orderservice.config.JwtTokenProvider;
+import com.innowise.orderservice.exception.ResourceNotFoundException;
+import com.innowise.orderservice.exception.UserNotFoundException;
+import com.innowise.orderservice.model.dto.userservice.UserDto;
+import com.innowise.orderservice.model.dto.userservice.UserPageDto;
+import com.innowise.orderservice.service.ReactiveUserClient;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.timelimiter.TimeLimiterOperator;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static com.innowise.orderservice.config.AuthConstant.IDS_PARAM;
+import static com.innowise.orderservice.config.AuthConstant.PAGE_PARAM;
+import static com.innowise.orderservice.config.AuthConstant.SLASH;
+
+/**
+ * @ClassName ReactiveUserClientImpl
+ * @Description {@link ReactiveUserClient} on {@link WebClient}, guarded by the same "user-service"
+ * circuit breaker, bulkhead and time limiter as {@link UserClientImpl}, hedged by the same {@link UserServiceHedger}
+ * and failing the same way as its fallbacks.
+ * @Author dshparko
+ * @Date 17.10.2026 16:30
+ * @Version 1.0
+ */
+@Service
+public class ReactiveUserClientImpl implements ReactiveUserClient {
+
+    private static final String CIRCUIT_BREAKER = "user-service";
+    private static final String EMAIL_PARAM = "email";
+
+    private final WebClient userServiceWebClient;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final TimeLimiter timeLimiter;
+    private final String userApiPath;
+    private final int idsChunkSize;
+    private final int idsConcurrency;
+    private final LastKnownUserStore lastKnownUsers;
+    private final UserServiceHedger hedger;
+
+    public ReactiveUserClientImpl(WebClient userServiceWebClient,
+                                  JwtTokenProvider jwtTokenProvider,
+                                  CircuitBreakerRegistry circuitBreakerRegistry,
+                                  BulkheadRegistry bulkheadRegistry,
+                                  TimeLimiterRegistry timeLimiterRegistry,
+                                  @Value("${user-service.path}") String userApiPath,
+                                  @Value("${user-service.ids.chunk-size}") int idsChunkSize,
+                                  @Value("${user-service.ids.concurrency}") int idsConcurrency,
+                                  LastKnownUserStore lastKnownUsers,
+                                  UserServiceHedger hedger) {
+        this.userServiceWebClient = userServiceWebClient;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER);
+        this.bulkhead = bulkheadRegistry.bulkhead(CIRCUIT_BREAKER);
+        this.timeLimiter = timeLimiterRegistry.timeLimiter(CIRCUIT_BREAKER);
+        this.userApiPath = userApiPath.startsWith(SLASH) ? userApiPath : SLASH + userApiPath;
+        this.idsChunkSize = idsChunkSize;
+        this.idsConcurrency = idsConcurrency;
+        this.lastKnownUsers = lastKnownUsers;
+        this.hedger = hedger;
+    }
+
+    /**
+     * Like the fallbacks of {@link UserClientImpl}, an unavailable user-service is answered with the last-known
+     * user, marked stale, when there is one.
+     */
+    @Override
+    public Mono<UserDto> getUserByEmail(String email) {
+        String token = jwtTokenProvider.getCurrentToken();
+        return hedger.hedge(userServiceWebClient.get()
+                        .uri(uri -> uri.path(userApiPath).queryParam(EMAIL_PARAM, email).build())
+                        .headers(headers -> headers.setBearerAuth(token))
+                        .accept(MediaType.APPLICATION_JSON)
+                        .retrieve()
+                        .bodyToMono(UserPageDto.class))
+                .flatMapIterable(ReactiveUserClientImpl::contentOf)
+                .next()
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException("User not found")))
+                .transform(this::guarded)
+                .doOnNext(lastKnownUsers::remember)
+                .onErrorResume(ReactiveUserClientImpl::isUnavailable, ex -> Mono.justOrEmpty(
+                                lastKnownUsers.findByEmail(email))
+                        .switchIfEmpty(Mono.error(() ->
+                                new ResourceNotFoundException("User service unavailable. Reason: " + ex.getMessage()))));
+    }
+
+    @Override
+    public Mono<UserDto> getUserById(Long id) {
+        return hedger.hedge(userServiceWebClient.get()
+                        .uri(uri -> uri.path(userApiPath + SLASH + "{id}").build(id))
+                        .accept(MediaType.APPLICATION_JSON)
+                        .retrieve()
+                        .onStatus(HttpStatus.NOT_FOUND::equals,
+                                response -> Mono.error(new UserNotFoundException("User not found by ID: " + id)))
+                        .bodyToMono(UserDto.class))
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException("User not found by ID: " + id)))
+                .transform(this::guarded)
+                .doOnNext(lastKnownUsers::remember)
+                .onErrorResume(ReactiveUserClientImpl::isUnavailable, ex -> Mono.justOrEmpty(
+                                lastKnownUsers.findById(id))
+                        .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(
+                                "User service unavailable. Failed to fetch user by ID: " + id + ". Reason: " + ex.getMessage()))));
+    }
+
+    /**
+     * IDs are requested in chunks, at most {@code user-service.ids.concurrency} at a time, and the pages
+     * of each answer are followed until every ID of the chunk is resolved. The users are emitted only once all
+     * chunks succeeded, so a failure falls back to the last-known users as a whole.
+     */
+    @Override
+    public Flux<UserDto> getUsersByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Flux.error(new IllegalArgumentException("User ID list must not be empty"));
+        }
+
+        String token = jwtTokenProvider.getCurrentToken();
+        return Flux.fromIterable(ids).distinct()
+                .buffer(idsChunkSize)
+                .flatMap(chunk -> fetchChunk(chunk, token), idsConcurrency)
+                .collectList()
+                .filter(users -> !users.isEmpty())
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException("User list is empty")))
+                .transform(this::guarded)
+                .doOnNext(users -> users.forEach(lastKnownUsers::remember))
+                .onErrorResume(ReactiveUserClientImpl::isUnavailable, ex -> Mono.just(
+                                lastKnownUsers.findByIds(ids))
+                        .filter(users -> !users.isEmpty())
+                        .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(
+                                "User service is unavailable. Failed to fetch users by IDs: " + ids + ". Reason: "
+                                        + ex.getMessage()))))
+                .flatMapIterable(Function.identity());
+    }
+
+    /**
+     * The time limiter cancels a hanging call and the bulkhead rejects calls beyond its share at once; the breaker
+     * wraps both, so a timeout counts as a failure while a rejected call, never sent, does not.
+     */
+    private <T> Mono<T> guarded(Mono<T> call) {
+        return call
+                .transformDeferred(TimeLimiterOperator.of(timeLimiter))
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+    }
+
+    private Flux<UserDto> fetchChunk(List<Long> ids, String token) {
+        return Flux.defer(() -> {
+            Set<Long> unresolved = new HashSet<>(ids);
+            AtomicInteger pageNumber = new AtomicInteger();
+            return fetchUnresolved(ids, pageNumber.get(), token, unresolved)
+                    .expand(page -> page.hasNextPage() && !unresolved.isEmpty()
+                            ? fetchUnresolved(ids, pageNumber.incrementAndGet(), token, unresolved)
+                            : Mono.empty())
+                    .concatMapIterable(ReactiveUserClientImpl::contentOf);
+        });
+    }
+
+    /**
+     * Keeps only the users of the page that were still unresolved, so the next page is requested only if needed.
+     */
+    private Mono<UserPageDto> fetchUnresolved(List<Long> ids, int pageNumber, String token, Set<Long> unresolved) {
+        return fetchPage(ids, pageNumber, token)
+                .doOnNext(page -> page.setContent(contentOf(page).stream()
+                        .filter(user -> unresolved.remove(user.getId()))
+                        .toList()));
+    }
+
+    private Mono<UserPageDto> fetchPage(List<Long> ids, int pageNumber, String token) {
+        return hedger.hedge(userServiceWebClient.get()
+                .uri(uri -> {
+                    uri.path(userApiPath).queryParam(IDS_PARAM, ids.toArray());
+                    if (pageNumber > 0) {
+                        uri.queryParam(PAGE_PARAM, pageNumber);
+                    }
+                    return uri.build();
+                })
+                .headers(headers -> headers.setBearerAuth(token))
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(UserPageDto.class));
+    }
+
+    private static List<UserDto> contentOf(UserPageDto page) {
+        return page.getContent() == null ? List.of() : page.getContent();
+    }
+
+    /**
+     * A definite "not found" answer from user-service is not an outage and reaches the caller as is.
+     */
+    private static boolean isUnavailable(Throwable throwable) {
+        return !(throwable instanceof UserNotFoundException);
+    }
+}
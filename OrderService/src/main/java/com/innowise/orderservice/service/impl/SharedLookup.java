@@ -0,0 +1,73 @@
+package com.innowise.orderservice.service.impl;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @ClassName SharedLookup
+ * @Description In-flight user-service lookup stored in the user caches and shared by every caller of the same key.
+ * Callers hold it while they wait; once the last holder has cancelled, the lookup is cancelled too, so an abandoned
+ * call does not keep running for nobody. A lookup that is cancelled leaves the cache, and later callers start anew.
+ * @Author dshparko
+ * @Date 18.10.2026 03:40
+ * @Version 1.0
+ */
+final class SharedLookup<T> extends CompletableFuture<T> {
+
+    private final Disposable call;
+    private int holders;
+
+    /**
+     * Subscribes to the lookup right away, on the calling thread.
+     */
+    SharedLookup(Mono<T> lookup) {
+        this.call = lookup.subscribe(this::complete, this::completeExceptionally, () -> complete(null));
+    }
+
+    /**
+     * @return false if the lookup has been cancelled by its last holder in the meantime
+     */
+    synchronized boolean hold() {
+        if (isCancelled()) {
+            return false;
+        }
+        holders++;
+        return true;
+    }
+
+    /**
+     * @param cancelled whether the holder gave up waiting rather than received the result
+     */
+    synchronized void release(boolean cancelled) {
+        holders--;
+        if (holders == 0 && cancelled && !isDone()) {
+            cancel(true);
+        }
+    }
+
+    /**
+     * The result for one held subscriber; cancelling it releases the hold, and the lookup with the last one.
+     */
+    Mono<T> asMono() {
+        AtomicBoolean released = new AtomicBoolean();
+        return Mono.fromFuture(this, true)
+                .doFinally(signal -> {
+                    if (released.compareAndSet(false, true)) {
+                        release(signal == SignalType.CANCEL);
+                    }
+                });
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        boolean cancelled = super.cancel(mayInterruptIfRunning);
+        if (cancelled) {
+            call.dispose();
+        }
+        return cancelled;
+    }
+}
@@ -0,0 +1,109 @@
+package com.innowise.orderservice.service.impl;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.innowise.orderservice.model.dto.userservice.UserDto;
+import com.innowise.orderservice.service.UserClient;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.circuitbreaker.event.CircuitBreakerOnStateTransitionEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * @ClassName StaleUserRefresher
+ * @Description Once the "user-service" circuit breaker half-opens, re-fetches the users that were served stale
+ * from {@link LastKnownUserStore} and replaces them in the user caches. The users are fetched in one
+ * {@link UserClient#getUsersByIds} call under the service's own credential, {@code user-service.service-token},
+ * so the refresh takes a single trial call of the half-open breaker. Without a credential nothing is refreshed
+ * and stale users are replaced only once callers fetch them again.
+ * @Author dshparko
+ * @Date 17.10.2026 17:40
+ * @Version 1.0
+ */
+@Component
+public class StaleUserRefresher {
+
+    private static final String CIRCUIT_BREAKER = "user-service";
+    private static final String SERVICE_PRINCIPAL = "order-service";
+
+    private final LastKnownUserStore lastKnownUsers;
+    private final UserClient delegate;
+    private final AsyncCache<String, Optional<UserDto>> usersByEmail;
+    private final AsyncCache<Long, Optional<UserDto>> usersById;
+    private final Optional<SecurityContext> serviceContext;
+    private final ExecutorService refresher = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("stale-user-refresh-", 0).factory());
+
+    public StaleUserRefresher(LastKnownUserStore lastKnownUsers,
+                              @Qualifier("userClientImpl") UserClient delegate,
+                              AsyncCache<String, Optional<UserDto>> usersByEmail,
+                              AsyncCache<Long, Optional<UserDto>> usersById,
+                              CircuitBreakerRegistry circuitBreakerRegistry,
+                              @Value("${user-service.service-token}") String serviceToken) {
+        this.lastKnownUsers = lastKnownUsers;
+        this.delegate = delegate;
+        this.usersByEmail = usersByEmail;
+        this.usersById = usersById;
+        this.serviceContext = Optional.of(serviceToken)
+                .filter(token -> !token.isBlank())
+                .map(token -> new SecurityContextImpl(
+                        new UsernamePasswordAuthenticationToken(SERVICE_PRINCIPAL, token)));
+        circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER).getEventPublisher()
+                .onStateTransition(this::onStateTransition);
+    }
+
+    private void onStateTransition(CircuitBreakerOnStateTransitionEvent event) {
+        if (event.getStateTransition().getToState() == CircuitBreaker.State.HALF_OPEN) {
+            refresh();
+        }
+    }
+
+    /**
+     * Starts the refresh in the background and returns right away.
+     */
+    public void refresh() {
+        List<Long> ids = lastKnownUsers.drainPendingRefresh();
+        if (ids.isEmpty() || serviceContext.isEmpty()) {
+            return;
+        }
+        refresher.execute(new DelegatingSecurityContextRunnable(() -> refresh(ids), serviceContext.get()));
+    }
+
+    /**
+     * A failed refresh leaves the stale users in place; they are queued again the next time they are served.
+     */
+    private void refresh(List<Long> ids) {
+        try {
+            delegate.getUsersByIds(ids).stream()
+                    .filter(user -> !user.isStale())
+                    .forEach(this::replaceCached);
+        } catch (RuntimeException ignored) {
+            // user-service is still unavailable
+        }
+    }
+
+    private void replaceCached(UserDto user) {
+        CompletableFuture<Optional<UserDto>> fresh = CompletableFuture.completedFuture(Optional.of(user));
+        usersById.put(user.getId(), fresh);
+        if (user.getEmail() != null) {
+            usersByEmail.put(user.getEmail(), fresh);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+}
@@ -1,39 +1,65 @@
 package com.innowise.orderservice.service.impl;
 
 import com.innowise.orderservice.config.JwtTokenProvider;
+import com.innowise.orderservice.config.RequestDeadline;
+import com.innowise.orderservice.exception.DeadlineExceededException;
 import com.innowise.orderservice.exception.ResourceNotFoundException;
+import com.innowise.orderservice.exception.UserNotFoundException;
 import com.innowise.orderservice.model.dto.userservice.UserDto;
 import com.innowise.orderservice.model.dto.userservice.UserPageDto;
 import com.innowise.orderservice.service.UserClient;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
 
 import static com.innowise.orderservice.config.AuthConstant.IDS_PARAM;
 import static com.innowise.orderservice.config.AuthConstant.KEY_VALUE_SEPARATOR;
+import static com.innowise.orderservice.config.AuthConstant.PAGE_PARAM;
 import static com.innowise.orderservice.config.AuthConstant.PARAM_SEPARATOR;
 import static com.innowise.orderservice.config.AuthConstant.QUERY_PREFIX;
 import static com.innowise.orderservice.config.AuthConstant.SLASH;
 
 /**
  * @ClassName UserClient
- * @Description Implementation of {@link UserClient} that communicates with the external User Service
+ * @Description Implementation of {@link UserClient} that communicates with the external User Service.
+ * Every call passes the "user-service" circuit breaker, bulkhead and time limiter.
  * @Author dshparko
  * @Date 13.10.2025 21:19
  * @Version 1.0
  */
 @Service
 public class UserClientImpl implements UserClient {
+    private static final String CIRCUIT_BREAKER = "user-service";
+
     private final JwtTokenProvider jwtTokenProvider;
     private final RestTemplate restTemplate;
 
@@ -43,45 +69,194 @@ public class UserClientImpl implements UserClient {
     @Value("${user-service.path}")
     private String userApiPath;
 
+    private final int idsChunkSize;
+    private final int idsConcurrency;
+    private final LastKnownUserStore lastKnownUsers;
+    private final UserServiceHedger hedger;
+    private final TimeLimiter timeLimiter;
+    private final ExecutorService timeLimitedCalls = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("user-client-", 0).factory());
+
     public UserClientImpl(JwtTokenProvider jwtTokenProvider,
                           @Value("${user-service.url}") String userServiceUrl,
                           @Value("${user-service.path}") String userApiPath,
-                          RestTemplate restTemplate) {
+                          RestTemplate restTemplate,
+                          @Value("${user-service.ids.chunk-size}") int idsChunkSize,
+                          @Value("${user-service.ids.concurrency}") int idsConcurrency,
+                          LastKnownUserStore lastKnownUsers,
+                          UserServiceHedger hedger,
+                          TimeLimiterRegistry timeLimiterRegistry) {
         this.jwtTokenProvider = jwtTokenProvider;
         this.userServiceUrl = userServiceUrl;
         this.userApiPath = userApiPath;
         this.restTemplate = restTemplate;
+        this.idsChunkSize = idsChunkSize;
+        this.idsConcurrency = idsConcurrency;
+        this.lastKnownUsers = lastKnownUsers;
+        this.hedger = hedger;
+        this.timeLimiter = timeLimiterRegistry.timeLimiter(CIRCUIT_BREAKER);
     }
 
-    @CircuitBreaker(name = "user-service", fallbackMethod = "fallbackGetUser")
+    @CircuitBreaker(name = CIRCUIT_BREAKER, fallbackMethod = "fallbackGetUser")
+    @Bulkhead(name = CIRCUIT_BREAKER)
     public UserDto getUserByEmail(String email) {
-        String url = buildBaseUrl() + QUERY_PREFIX + "email=" + email;
-        ResponseEntity<UserPageDto> response = restTemplate.exchange(url, HttpMethod.GET, buildAuthEntity(), UserPageDto.class);
-        return extractFirstUser(response.getBody(), "User not found");
+        return timeLimited(() -> {
+            String url = buildBaseUrl() + QUERY_PREFIX + "email=" + email;
+            HttpEntity<Void> authEntity = buildAuthEntity();
+            ResponseEntity<UserPageDto> response = hedger.call(() ->
+                    restTemplate.exchange(url, HttpMethod.GET, authEntity, UserPageDto.class));
+            UserDto user = extractFirstUser(response.getBody(), "User not found");
+            lastKnownUsers.remember(user);
+            return user;
+        });
     }
 
-    @CircuitBreaker(name = "user-service", fallbackMethod = "fallbackGetUserById")
+    @CircuitBreaker(name = CIRCUIT_BREAKER, fallbackMethod = "fallbackGetUserById")
+    @Bulkhead(name = CIRCUIT_BREAKER)
     public UserDto getUserById(Long id) {
         String url = buildBaseUrl() + SLASH + id;
         try {
-            return restTemplate.getForObject(url, UserDto.class);
+            UserDto user = timeLimited(() -> hedger.call(() -> restTemplate.getForObject(url, UserDto.class)));
+            if (user != null) {
+                lastKnownUsers.remember(user);
+            }
+            return user;
+        } catch (HttpClientErrorException.NotFound ex) {
+            throw new UserNotFoundException("User not found by ID: " + id);
+        } catch (DeadlineExceededException ex) {
+            throw ex;
         } catch (Exception ex) {
             throw new ResourceNotFoundException("User not found by ID: " + id + ". Reason: " + ex.getMessage());
         }
     }
 
-    @CircuitBreaker(name = "user-service", fallbackMethod = "fallbackGetUsers")
+    /**
+     * IDs are requested in chunks of {@code user-service.ids.chunk-size}, at most
+     * {@code user-service.ids.concurrency} chunks at a time, so a large page neither overflows the URL
+     * nor loses users beyond the first page of the answer.
+     */
+    @CircuitBreaker(name = CIRCUIT_BREAKER, fallbackMethod = "fallbackGetUsers")
+    @Bulkhead(name = CIRCUIT_BREAKER)
     public List<UserDto> getUsersByIds(List<Long> ids) {
         if (ids == null || ids.isEmpty()) {
             throw new IllegalArgumentException("User ID list must not be empty");
         }
 
+        HttpEntity<Void> authEntity = buildAuthEntity();
+        List<List<Long>> chunks = chunk(ids.stream().distinct().toList());
+        List<UserDto> users = timeLimited(() -> chunks.size() == 1
+                ? fetchChunk(chunks.get(0), authEntity)
+                : fetchChunksConcurrently(chunks, authEntity));
+        if (users.isEmpty()) {
+            throw new UserNotFoundException("User list is empty");
+        }
+        users.forEach(lastKnownUsers::remember);
+        return users;
+    }
+
+    /**
+     * Runs the call on a virtual thread, under the caller's security context, and stops waiting for it once
+     * the "user-service" time limiter expires; the call is then interrupted. A hanging user-service thus
+     * holds the request thread no longer than the time limit, and the timeout counts as a breaker failure.
+     * A request with less time left than the limit waits only that long, and a request out of time does not
+     * call at all.
+     */
+    private <T> T timeLimited(Callable<T> call) {
+        RequestDeadline.checkNotExpired();
+        Duration timeout = timeLimiter.getTimeLimiterConfig().getTimeoutDuration();
+        Optional<Duration> budget = RequestDeadline.remaining().filter(left -> left.compareTo(timeout) < 0);
+        try {
+            if (budget.isPresent()) {
+                return withinDeadline(call, budget.get());
+            }
+            return timeLimiter.executeFutureSupplier(() ->
+                    timeLimitedCalls.submit(new DelegatingSecurityContextCallable<>(call)));
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (TimeoutException ex) {
+            throw new ResourceAccessException("User service did not answer within "
+                    + timeLimiter.getTimeLimiterConfig().getTimeoutDuration().toMillis() + " ms");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while calling user-service", ex);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Used instead of the time limiter when the request has less time left than the limit. Running out of that
+     * budget is the caller's problem rather than user-service's, so it is not reported as a timeout.
+     */
+    private <T> T withinDeadline(Callable<T> call, Duration budget) throws Exception {
+        Future<T> result = timeLimitedCalls.submit(new DelegatingSecurityContextCallable<>(call));
+        try {
+            return result.get(budget.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            throw new DeadlineExceededException("Request deadline exceeded while calling user-service");
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof Exception cause ? cause : ex;
+        } finally {
+            result.cancel(true);
+        }
+    }
+
+    private List<List<Long>> chunk(List<Long> ids) {
+        return IntStream.iterate(0, from -> from < ids.size(), from -> from + idsChunkSize)
+                .mapToObj(from -> ids.subList(from, Math.min(from + idsChunkSize, ids.size())))
+                .toList();
+    }
+
+    /**
+     * The bearer token is read once on the calling thread; the chunks run on virtual threads.
+     */
+    private List<UserDto> fetchChunksConcurrently(List<List<Long>> chunks, HttpEntity<Void> authEntity) {
+        int threads = Math.min(idsConcurrency, chunks.size());
+        ExecutorService executor = Executors.newFixedThreadPool(threads, Thread.ofVirtual().factory());
+        try {
+            List<Future<List<UserDto>>> results = chunks.stream()
+                    .map(chunk -> executor.submit(() -> fetchChunk(chunk, authEntity)))
+                    .toList();
+            List<UserDto> users = new ArrayList<>();
+            for (Future<List<UserDto>> result : results) {
+                users.addAll(result.get());
+            }
+            return users;
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching users", ex);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Follows the pages of the answer until every ID of the chunk is resolved or the last page is read.
+     */
+    private List<UserDto> fetchChunk(List<Long> ids, HttpEntity<Void> authEntity) {
         String url = buildBaseUrl() + buildQueryParam(IDS_PARAM, ids);
-        ResponseEntity<UserPageDto> response = restTemplate.exchange(url, HttpMethod.GET, buildAuthEntity(), UserPageDto.class);
-        return Optional.ofNullable(response.getBody())
-                .map(UserPageDto::getContent)
-                .filter(list -> !list.isEmpty())
-                .orElseThrow(() -> new ResourceNotFoundException("User list is empty"));
+        Set<Long> unresolved = new HashSet<>(ids);
+        List<UserDto> users = new ArrayList<>();
+        UserPageDto page;
+        int pageNumber = 0;
+        do {
+            String pageUrl = pageNumber == 0 ? url : url + PARAM_SEPARATOR + PAGE_PARAM + KEY_VALUE_SEPARATOR + pageNumber;
+            page = hedger.call(() -> restTemplate.exchange(pageUrl, HttpMethod.GET, authEntity, UserPageDto.class))
+                    .getBody();
+            Optional.ofNullable(page)
+                    .map(UserPageDto::getContent)
+                    .orElse(List.of())
+                    .stream()
+                    .filter(user -> unresolved.remove(user.getId()))
+                    .forEach(users::add);
+            pageNumber++;
+        } while (page != null && page.hasNextPage() && !unresolved.isEmpty());
+        return users;
     }
 
     private HttpEntity<Void> buildAuthEntity() {
@@ -113,20 +288,51 @@ public class UserClientImpl implements UserClient {
                 .map(UserPageDto::getContent)
                 .filter(list -> !list.isEmpty())
                 .map(list -> list.get(0))
-                .orElseThrow(() -> new ResourceNotFoundException(errorMessage));
+                .orElseThrow(() -> new UserNotFoundException(errorMessage));
     }
 
-    public UserDto fallbackGetUser(Throwable throwable) {
-        throw new ResourceNotFoundException("User service unavailable. Reason: " + throwable.getMessage());
+    /**
+     * While user-service is unavailable the last-known user is served, marked stale; only users never seen
+     * before fail the call.
+     */
+    public UserDto fallbackGetUser(String email, Throwable throwable) {
+        rethrowIfNotAnOutage(throwable);
+        return lastKnownUsers.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User service unavailable. Reason: " + throwable.getMessage()));
     }
 
     public UserDto fallbackGetUserById(Long id, Throwable throwable) {
-        throw new ResourceNotFoundException("User service unavailable. Failed to fetch user by ID: " + id +
-                ". Reason: " + throwable.getMessage());
+        rethrowIfNotAnOutage(throwable);
+        return lastKnownUsers.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User service unavailable. Failed to fetch user by ID: "
+                        + id + ". Reason: " + throwable.getMessage()));
     }
 
     public List<UserDto> fallbackGetUsers(List<Long> ids, Throwable throwable) {
-        throw new ResourceNotFoundException("User service is unavailable. Failed to fetch users by IDs: " + ids +
-                ". Reason: " + throwable.getMessage());
+        rethrowIfNotAnOutage(throwable);
+        List<UserDto> users = lastKnownUsers.findByIds(ids);
+        if (users.isEmpty()) {
+            throw new ResourceNotFoundException("User service is unavailable. Failed to fetch users by IDs: " + ids +
+                    ". Reason: " + throwable.getMessage());
+        }
+        return users;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timeLimitedCalls.shutdownNow();
+    }
+
+    /**
+     * A definite "not found" answer from user-service is not an outage and must reach the caller as is; neither
+     * is an expired request deadline, which no stale user can make up for.
+     */
+    private void rethrowIfNotAnOutage(Throwable throwable) {
+        if (throwable instanceof UserNotFoundException notFound) {
+            throw notFound;
+        }
+        if (throwable instanceof DeadlineExceededException expired) {
+            throw expired;
+        }
     }
 }
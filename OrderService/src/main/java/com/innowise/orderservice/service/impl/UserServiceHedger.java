@@ -0,0 +1,210 @@
+package com.innowise.orderservice.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * @ClassName UserServiceHedger
+ * @Description Hedges idempotent user-service GETs: when the first attempt has not answered within the
+ * configured latency percentile, a second attempt is sent and whichever succeeds first wins; the other one
+ * is cancelled. Every call earns {@code user-service.hedging.budget-percent} of a hedge, so hedges never exceed
+ * that share of the traffic.
+ * @Author dshparko
+ * @Date 17.10.2026 19:30
+ * @Version 1.0
+ */
+@Component
+public class UserServiceHedger {
+
+    private static final String LATENCY_METRIC = "user.client.latency";
+    private static final String HEDGES_SENT_METRIC = "user.client.hedge.sent";
+    private static final String HEDGES_WON_METRIC = "user.client.hedge.won";
+    private static final long HEDGE_COST = 100;
+    private static final long MAX_SAVED_CREDIT = 10 * HEDGE_COST;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final Duration minDelay;
+    private final long creditPerCall;
+    private final Timer latency;
+    private final Counter hedgesSent;
+    private final Counter hedgesWon;
+    private final AtomicLong credit = new AtomicLong();
+    private final ExecutorService attempts = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("user-hedge-", 0).factory());
+
+    public UserServiceHedger(@Value("${user-service.hedging.enabled}") boolean enabled,
+                             @Value("${user-service.hedging.percentile}") double percentile,
+                             @Value("${user-service.hedging.min-delay}") Duration minDelay,
+                             @Value("${user-service.hedging.budget-percent}") int budgetPercent,
+                             MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelay = minDelay;
+        this.creditPerCall = budgetPercent * HEDGE_COST / 100;
+        this.latency = Timer.builder(LATENCY_METRIC)
+                .description("Latency of successful user-service calls")
+                .publishPercentiles(percentile)
+                .distributionStatisticExpiry(Duration.ofMinutes(1))
+                .register(meterRegistry);
+        this.hedgesSent = Counter.builder(HEDGES_SENT_METRIC)
+                .description("Second attempts sent to user-service after the hedge delay")
+                .register(meterRegistry);
+        this.hedgesWon = Counter.builder(HEDGES_WON_METRIC)
+                .description("Second attempts that answered before the first one")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the request, hedging it if enabled. The request must be idempotent and must not read the caller's
+     * security context, since the attempts run on other threads.
+     *
+     * @param request the user-service call
+     * @return the answer of the first successful attempt
+     */
+    public <T> T call(Supplier<T> request) {
+        if (!enabled) {
+            return request.get();
+        }
+        earnCredit();
+        CompletionService<T> completion = new ExecutorCompletionService<>(attempts);
+        Future<T> primary = completion.submit(() -> timed(request));
+        Future<T> hedge = null;
+        try {
+            Future<T> first = completion.poll(hedgeDelay().toNanos(), TimeUnit.NANOSECONDS);
+            if (first != null || !spendCredit()) {
+                return result(primary);
+            }
+            hedgesSent.increment();
+            hedge = completion.submit(() -> timed(request));
+            first = completion.take();
+            if (first.state() == Future.State.FAILED) {
+                first = completion.take();
+            }
+            if (first == hedge && first.state() == Future.State.SUCCESS) {
+                hedgesWon.increment();
+            }
+            return result(first);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while calling user-service", ex);
+        } finally {
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Reactive counterpart of {@link #call(Supplier)}, sharing its hedge delay, budget and metrics: every
+     * subscription to the request is an attempt. No hedge is sent once the first attempt has failed, and if
+     * both attempts fail, the error of the first one is passed on.
+     *
+     * @param request the user-service call, re-sent on every subscription
+     * @return the answer of the first successful attempt
+     */
+    public <T> Mono<T> hedge(Mono<T> request) {
+        if (!enabled) {
+            return request;
+        }
+        return Mono.defer(() -> {
+            earnCredit();
+            Sinks.Empty<Long> primaryFailed = Sinks.empty();
+            Mono<T> primary = timed(request)
+                    .doOnError(ex -> primaryFailed.tryEmitEmpty());
+            Mono<T> hedge = Mono.delay(hedgeDelay())
+                    .or(primaryFailed.asMono())
+                    .flatMap(elapsed -> spendCredit() ? hedgeAttempt(request) : Mono.empty());
+            return Mono.firstWithValue(primary, hedge)
+                    .onErrorMap(UserServiceHedger::firstAttemptError);
+        });
+    }
+
+    /**
+     * The configured percentile of recent successful calls, but never less than {@code min-delay}.
+     */
+    Duration hedgeDelay() {
+        for (ValueAtPercentile value : latency.takeSnapshot().percentileValues()) {
+            if (value.percentile() == percentile) {
+                Duration observed = Duration.ofNanos((long) value.value(TimeUnit.NANOSECONDS));
+                return observed.compareTo(minDelay) > 0 ? observed : minDelay;
+            }
+        }
+        return minDelay;
+    }
+
+    private <T> T timed(Supplier<T> request) {
+        long started = System.nanoTime();
+        T result = request.get();
+        latency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    private <T> Mono<T> timed(Mono<T> request) {
+        return Mono.defer(() -> {
+            long started = System.nanoTime();
+            return request.doOnNext(result -> latency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    private <T> Mono<T> hedgeAttempt(Mono<T> request) {
+        hedgesSent.increment();
+        return timed(request).doOnNext(result -> hedgesWon.increment());
+    }
+
+    private void earnCredit() {
+        credit.updateAndGet(saved -> Math.min(saved + creditPerCall, MAX_SAVED_CREDIT));
+    }
+
+    private boolean spendCredit() {
+        return credit.getAndUpdate(saved -> saved >= HEDGE_COST ? saved - HEDGE_COST : saved) >= HEDGE_COST;
+    }
+
+    private static <T> T result(Future<T> attempt) throws InterruptedException {
+        try {
+            return attempt.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    /**
+     * When no attempt succeeds, {@link Mono#firstWithValue} reports the errors of all of them, first attempt
+     * first, behind a {@link NoSuchElementException}.
+     */
+    private static Throwable firstAttemptError(Throwable error) {
+        if (error instanceof NoSuchElementException && Exceptions.isMultiple(error.getCause())) {
+            return Exceptions.unwrapMultiple(error.getCause()).get(0);
+        }
+        return error;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        attempts.shutdownNow();
+    }
+}
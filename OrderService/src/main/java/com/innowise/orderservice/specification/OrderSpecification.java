@@ -1,12 +1,15 @@
 package com.innowise.orderservice.specification;
 
+import com.innowise.orderservice.model.dto.OrderCursor;
 import com.innowise.orderservice.model.dto.OrderFilterDto;
 import com.innowise.orderservice.model.entity.Order;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -21,12 +24,15 @@ import java.util.List;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class OrderSpecification {
 
+    private static final String ID = "id";
+    private static final String CREATION_DATE = "creationDate";
+
     public static Specification<Order> from(OrderFilterDto filter) {
         return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
 
             if (filter.ids() != null && !filter.ids().isEmpty()) {
-                predicates.add(root.get("id").in(filter.ids()));
+                predicates.add(root.get(ID).in(filter.ids()));
             }
 
             if (filter.statuses() != null && !filter.statuses().isEmpty()) {
@@ -36,4 +42,31 @@ public class OrderSpecification {
             return predicates.isEmpty() ? null : cb.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    /**
+     * Keyset predicate selecting orders strictly after the given cursor in
+     * {@code creationDate DESC, id DESC} order, i.e. {@code (creation_date, id) < (?, ?)}.
+     * The row comparison is expanded so that the leading column also gets a plain range bound
+     * the planner can use on the {@code (creation_date, id)} index.
+     *
+     * @param cursor position of the last returned order, {@code null} for the first page
+     * @return the keyset specification
+     */
+    public static Specification<Order> after(OrderCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return null;
+            }
+            Path<LocalDate> creationDate = root.get(CREATION_DATE);
+            Path<Long> id = root.get(ID);
+
+            return cb.and(
+                    cb.lessThanOrEqualTo(creationDate, cursor.creationDate()),
+                    cb.or(
+                            cb.lessThan(creationDate, cursor.creationDate()),
+                            cb.lessThan(id, cursor.id())
+                    )
+            );
+        };
+    }
 }
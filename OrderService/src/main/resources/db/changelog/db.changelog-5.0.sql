@@ -0,0 +1,4 @@
+--liquibase formatted sql
+
+--changeset dshparko:1
+CREATE INDEX IF NOT EXISTS idx_orders_creation_date_id ON orders (creation_date DESC, id DESC);
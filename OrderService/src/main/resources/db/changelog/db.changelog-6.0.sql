@@ -0,0 +1,19 @@
+--liquibase formatted sql
+
+--changeset dshparko:1
+CREATE SEQUENCE IF NOT EXISTS orders_seq INCREMENT BY 50 OWNED BY orders.id;
+SELECT setval('orders_seq', GREATEST((SELECT COALESCE(MAX(id), 0) + 1 FROM orders), nextval('orders_id_seq')), false);
+ALTER TABLE orders ALTER COLUMN id SET DEFAULT nextval('orders_seq');
+DROP SEQUENCE IF EXISTS orders_id_seq;
+
+--changeset dshparko:2
+CREATE SEQUENCE IF NOT EXISTS items_seq INCREMENT BY 50 OWNED BY items.id;
+SELECT setval('items_seq', GREATEST((SELECT COALESCE(MAX(id), 0) + 1 FROM items), nextval('items_id_seq')), false);
+ALTER TABLE items ALTER COLUMN id SET DEFAULT nextval('items_seq');
+DROP SEQUENCE IF EXISTS items_id_seq;
+
+--changeset dshparko:3
+CREATE SEQUENCE IF NOT EXISTS order_items_seq INCREMENT BY 50 OWNED BY order_items.id;
+SELECT setval('order_items_seq', GREATEST((SELECT COALESCE(MAX(id), 0) + 1 FROM order_items), nextval('order_items_id_seq')), false);
+ALTER TABLE order_items ALTER COLUMN id SET DEFAULT nextval('order_items_seq');
+DROP SEQUENCE IF EXISTS order_items_id_seq;
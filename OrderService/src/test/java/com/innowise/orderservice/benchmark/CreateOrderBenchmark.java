@@ -0,0 +1,89 @@
+package com.innowise.orderservice.benchmark;
+
+import com.innowise.orderservice.config.JwtPrincipal;
+import com.innowise.orderservice.model.dto.CreateOrderItemDto;
+import com.innowise.orderservice.model.dto.OrderDto;
+import com.innowise.orderservice.model.entity.Item;
+import com.innowise.orderservice.repository.ItemRepository;
+import com.innowise.orderservice.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * {@code createOrder} latency for an order of {@code lineCount} lines, with Hibernate's JDBC batching off
+ * ({@code batchSize} 0, one INSERT round trip per line) and on, and with the item catalog cache off
+ * ({@code itemCacheSize} 0, every order reads its items) and on. The caller comes from the JWT claims, so no
+ * user-service call is made.
+ * <p>
+ * Requires Docker. Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=CreateOrderBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class CreateOrderBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int lineCount;
+
+    @Param({"0", "50"})
+    private int batchSize;
+
+    @Param({"0", "10000"})
+    private int itemCacheSize;
+
+    private PostgresBenchmarkContext context;
+    private OrderService orderService;
+    private OrderDto order;
+    private Authentication caller;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = PostgresBenchmarkContext.start("spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                "cache.items.max-size=" + itemCacheSize);
+        orderService = context.getBean(OrderService.class);
+
+        List<Item> items = context.getBean(ItemRepository.class).saveAll(IntStream.range(0, lineCount)
+                .mapToObj(i -> new Item(null, "Item " + i, BigDecimal.valueOf(i + 1L)))
+                .toList());
+        List<CreateOrderItemDto> lines = items.stream()
+                .map(item -> new CreateOrderItemDto(item.getId(), 1))
+                .toList();
+        order = new OrderDto(null, null, null, lines, null);
+        caller = new UsernamePasswordAuthenticationToken(new JwtPrincipal("user@example.com", 1L, "Alice", "Smith"),
+                null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderDto createOrder() {
+        SecurityContextHolder.getContext().setAuthentication(caller);
+        return orderService.createOrder(order, false);
+    }
+}
@@ -0,0 +1,77 @@
+package com.innowise.orderservice.benchmark;
+
+import com.innowise.orderservice.config.JwtPrincipal;
+import com.innowise.orderservice.model.dto.CreateOrderItemDto;
+import com.innowise.orderservice.model.dto.OrderDto;
+import com.innowise.orderservice.model.entity.Item;
+import com.innowise.orderservice.repository.ItemRepository;
+import com.innowise.orderservice.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code createOrder} throughput under 32 concurrent callers, each order written in a transaction of its own
+ * ({@code groupCommit} false) or collected by the group-commit writer and inserted together with the orders of
+ * other callers. The orders are small, so the per-request cost is dominated by the commit.
+ * <p>
+ * Requires Docker. Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=GroupCommitBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(32)
+@Fork(1)
+public class GroupCommitBenchmark {
+
+    @Param({"false", "true"})
+    private boolean groupCommit;
+
+    private PostgresBenchmarkContext context;
+    private OrderService orderService;
+    private OrderDto order;
+    private Authentication caller;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = PostgresBenchmarkContext.start("group-commit.enabled=" + groupCommit);
+        orderService = context.getBean(OrderService.class);
+
+        Item item = context.getBean(ItemRepository.class).save(new Item(null, "Item", BigDecimal.ONE));
+        order = new OrderDto(null, null, null, List.of(new CreateOrderItemDto(item.getId(), 1)), null);
+        caller = new UsernamePasswordAuthenticationToken(new JwtPrincipal("user@example.com", 1L, "Alice", "Smith"),
+                null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderDto createOrder() {
+        SecurityContextHolder.getContext().setAuthentication(caller);
+        return orderService.createOrder(order, false);
+    }
+}
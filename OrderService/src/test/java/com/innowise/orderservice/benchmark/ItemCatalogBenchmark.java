@@ -0,0 +1,79 @@
+package com.innowise.orderservice.benchmark;
+
+import com.innowise.orderservice.model.entity.Item;
+import com.innowise.orderservice.repository.ItemRepository;
+import com.innowise.orderservice.service.ItemCatalogService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Item resolution for an order with {@code lineCount} hot SKUs: straight {@code findAllById}
+ * against PostgreSQL versus the cached {@link ItemCatalogService}.
+ * Sample-time mode reports the latency distribution, including p0.99.
+ * <p>
+ * Requires Docker. Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ItemCatalogBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class ItemCatalogBenchmark {
+
+    @Param({"1", "20", "200"})
+    private int lineCount;
+
+    private PostgresBenchmarkContext context;
+    private ItemRepository itemRepository;
+    private ItemCatalogService itemCatalogService;
+    private Set<Long> itemIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = PostgresBenchmarkContext.start();
+        itemRepository = context.getBean(ItemRepository.class);
+        itemCatalogService = context.getBean(ItemCatalogService.class);
+
+        List<Item> items = IntStream.range(0, lineCount)
+                .mapToObj(i -> new Item(null, "Item " + i, BigDecimal.valueOf(i + 1L)))
+                .toList();
+        itemIds = itemRepository.saveAll(items).stream()
+                .map(Item::getId)
+                .collect(Collectors.toSet());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Item> repository() {
+        return itemRepository.findAllById(itemIds);
+    }
+
+    @Benchmark
+    public Map<Long, Item> catalog() {
+        return itemCatalogService.findAllByIds(itemIds);
+    }
+}
@@ -0,0 +1,104 @@
+package com.innowise.orderservice.benchmark;
+
+import com.innowise.orderservice.config.JwtAuthenticationFilter;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.innowise.orderservice.config.AuthConstant.AUTH_HEADER;
+import static com.innowise.orderservice.config.AuthConstant.ROLE_PREFIX;
+import static com.innowise.orderservice.config.AuthConstant.TOKEN_PREFIX;
+
+/**
+ * Cost of authenticating a request whose client keeps reusing the same bearer token:
+ * <ul>
+ *     <li>{@code parserPerRequest} - the former filter: decode the secret and build the key and parser every time;</li>
+ *     <li>{@code sharedParser} - {@link JwtAuthenticationFilter} with the verified-token cache disabled;</li>
+ *     <li>{@code cachedToken} - {@link JwtAuthenticationFilter} as configured.</li>
+ * </ul>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=JwtAuthenticationFilterBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "dGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQ=";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    private String token;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private JwtAuthenticationFilter sharedParserFilter;
+    private JwtAuthenticationFilter cachedTokenFilter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        token = Jwts.builder()
+                .setSubject("alice@example.com")
+                .claim("role", "USER")
+                .setExpiration(Date.from(Instant.now().plus(Duration.ofHours(1))))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .compact();
+        request = new MockHttpServletRequest();
+        request.addHeader(AUTH_HEADER, TOKEN_PREFIX + token);
+        response = new MockHttpServletResponse();
+        sharedParserFilter = new JwtAuthenticationFilter(SECRET, 1, Duration.ZERO, false, "userId", "name", "surname");
+        cachedTokenFilter = new JwtAuthenticationFilter(SECRET, 10_000, Duration.ofMinutes(5), false,
+                "userId", "name", "surname");
+    }
+
+    @Benchmark
+    public Authentication parserPerRequest() {
+        Claims claims = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+        return new UsernamePasswordAuthenticationToken(claims.getSubject(), token,
+                List.of(new SimpleGrantedAuthority(ROLE_PREFIX + claims.get("role", String.class))));
+    }
+
+    @Benchmark
+    public Authentication sharedParser() throws ServletException, IOException {
+        sharedParserFilter.doFilter(request, response, NO_OP_CHAIN);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    public Authentication cachedToken() throws ServletException, IOException {
+        cachedTokenFilter.doFilter(request, response, NO_OP_CHAIN);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
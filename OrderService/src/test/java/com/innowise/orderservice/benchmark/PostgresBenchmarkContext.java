@@ -0,0 +1,60 @@
+package com.innowise.orderservice.benchmark;
+
+import com.innowise.orderservice.OrderServiceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application against a throw-away PostgreSQL container for JMH benchmarks.
+ * Benchmarks create it in a trial-level {@code @Setup} and close it in the matching {@code @TearDown}.
+ */
+final class PostgresBenchmarkContext implements AutoCloseable {
+
+    private final PostgreSQLContainer<?> postgres;
+    private final ConfigurableApplicationContext context;
+
+    private PostgresBenchmarkContext(PostgreSQLContainer<?> postgres, ConfigurableApplicationContext context) {
+        this.postgres = postgres;
+        this.context = context;
+    }
+
+    @SuppressWarnings("resource")
+    static PostgresBenchmarkContext start(String... properties) {
+        PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16")
+                .withDatabaseName("orders")
+                .withUsername("test")
+                .withPassword("test");
+        postgres.start();
+
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                "--spring.datasource.username=" + postgres.getUsername(),
+                "--spring.datasource.password=" + postgres.getPassword(),
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.show_sql=false",
+                "--server.port=0",
+                "--logging.level.root=WARN"));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(OrderServiceApplication.class)
+                .profiles("test")
+                .run(args.toArray(String[]::new));
+        return new PostgresBenchmarkContext(postgres, context);
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        postgres.stop();
+    }
+}
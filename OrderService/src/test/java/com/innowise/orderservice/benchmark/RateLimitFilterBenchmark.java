@@ -0,0 +1,107 @@
+package com.innowise.orderservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.orderservice.config.RateLimitFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of {@link RateLimitFilter} for authenticated order requests, with limits high enough that no
+ * request is denied, so only the bookkeeping is measured:
+ * <ul>
+ *     <li>{@code disabled} - the filter with rate limiting switched off, i.e. the cost of a filter as such;</li>
+ *     <li>{@code limited} - the filter taking a token from the caller's bucket.</li>
+ * </ul>
+ * {@code subjects} is the number of distinct callers: one caller means every thread hits the same bucket, many
+ * callers spread the requests over the bucket cache.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=RateLimitFilterBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(4)
+@Fork(1)
+public class RateLimitFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+    private static final double UNLIMITED = 1e9;
+    private static final int UNLIMITED_BURST = 1_000_000;
+
+    @Param({"1", "10000"})
+    private int subjects;
+
+    private Authentication[] callers;
+    private RateLimitFilter disabledFilter;
+    private RateLimitFilter limitingFilter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        callers = new Authentication[subjects];
+        for (int i = 0; i < subjects; i++) {
+            callers[i] = new UsernamePasswordAuthenticationToken("user" + i + "@example.com", "token",
+                    List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        }
+        disabledFilter = filter(false);
+        limitingFilter = filter(true);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse disabled(Request request) throws ServletException, IOException {
+        return request.send(disabledFilter, callers);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse limited(Request request) throws ServletException, IOException {
+        return request.send(limitingFilter, callers);
+    }
+
+    private static RateLimitFilter filter(boolean enabled) {
+        return new RateLimitFilter(new ObjectMapper(), new SimpleMeterRegistry(), enabled, Duration.ofMinutes(10),
+                100_000, UNLIMITED, UNLIMITED_BURST, UNLIMITED, UNLIMITED_BURST);
+    }
+
+    @State(Scope.Thread)
+    public static class Request {
+
+        private final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/orders");
+        private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        MockHttpServletResponse send(RateLimitFilter filter, Authentication[] callers)
+                throws ServletException, IOException {
+            SecurityContextHolder.getContext().setAuthentication(
+                    callers[ThreadLocalRandom.current().nextInt(callers.length)]);
+            filter.doFilter(request, response, NO_OP_CHAIN);
+            return response;
+        }
+    }
+}
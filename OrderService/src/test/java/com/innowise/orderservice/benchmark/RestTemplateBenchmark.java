@@ -0,0 +1,88 @@
+package com.innowise.orderservice.benchmark;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.innowise.orderservice.config.AppConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+
+/**
+ * Throughput of user-service style GET calls through the default {@link RestTemplate}
+ * ({@code SimpleClientHttpRequestFactory}) versus the pooled keep-alive client from {@link AppConfig}.
+ * The upstream is an in-process WireMock server, so no Docker is needed.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=RestTemplateBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(16)
+@Fork(1)
+public class RestTemplateBenchmark {
+
+    private static final String USERS_PATH = "/api/v1/users";
+
+    private WireMockServer wiremock;
+    private CloseableHttpClient httpClient;
+    private RestTemplate simple;
+    private RestTemplate pooled;
+    private String url;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        wiremock = new WireMockServer(wireMockConfig().dynamicPort().containerThreads(64).disableRequestJournal());
+        wiremock.start();
+        wiremock.stubFor(get(urlPathEqualTo(USERS_PATH)).willReturn(okJson("""
+                {"content": [{"id": 1, "name": "Name", "surname": "Surname", "email": "admin@example.com"}]}
+                """)));
+        url = wiremock.baseUrl() + USERS_PATH + "?email=admin@example.com";
+
+        AppConfig appConfig = new AppConfig();
+        httpClient = appConfig.userServiceHttpClient(
+                appConfig.userServiceConnectionManager(200, 50, Duration.ofSeconds(2), Duration.ofSeconds(5),
+                        Duration.ofMinutes(5), new SimpleMeterRegistry()),
+                Duration.ofSeconds(5), Duration.ofSeconds(1), Duration.ofSeconds(30));
+        pooled = appConfig.restTemplate(httpClient);
+        simple = new RestTemplate();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        httpClient.close();
+        wiremock.stop();
+    }
+
+    @Benchmark
+    public String simpleFactory() {
+        return simple.getForObject(url, String.class);
+    }
+
+    @Benchmark
+    public String pooledClient() {
+        return pooled.getForObject(url, String.class);
+    }
+}
@@ -0,0 +1,198 @@
+package com.innowise.orderservice.benchmark;
+
+import com.innowise.orderservice.mapper.OrderMapper;
+import com.innowise.orderservice.model.OrderStatus;
+import com.innowise.orderservice.model.dto.OrderDto;
+import com.innowise.orderservice.model.dto.OrderFilterDto;
+import com.innowise.orderservice.model.entity.Item;
+import com.innowise.orderservice.model.entity.Order;
+import com.innowise.orderservice.model.entity.OrderItem;
+import com.innowise.orderservice.repository.ItemRepository;
+import com.innowise.orderservice.repository.OrderRepository;
+import com.innowise.orderservice.specification.OrderSpecification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Latency and allocation of one admin search page of {@code pageSize} orders with five lines each, read as managed
+ * entities and mapped through {@link OrderMapper} ({@code path} entity), or read as projections ({@code path}
+ * projection). Both run in a read-only transaction and stop at the DTOs, before user enrichment. The bytes
+ * allocated by the benchmark thread per page are reported as the {@code bytesPerPage} secondary result.
+ * <p>
+ * Requires Docker. Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=SearchOrdersBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class SearchOrdersBenchmark {
+
+    private static final int ORDER_COUNT = 5_000;
+    private static final int LINES_PER_ORDER = 5;
+    private static final int INSERT_CHUNK = 500;
+    private static final String FETCH_WITH_ITEMS = """
+            SELECT DISTINCT o FROM Order o
+            LEFT JOIN FETCH o.items i
+            LEFT JOIN FETCH i.item
+            WHERE o.id IN :ids
+            """;
+
+    @Param({"100", "1000"})
+    private int pageSize;
+
+    @Param({"entity", "projection"})
+    private String path;
+
+    private PostgresBenchmarkContext context;
+    private OrderRepository orderRepository;
+    private EntityManager entityManager;
+    private OrderMapper orderMapper;
+    private TransactionTemplate readOnlyTransaction;
+    private Specification<Order> spec;
+    private Pageable pageable;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = PostgresBenchmarkContext.start();
+        orderRepository = context.getBean(OrderRepository.class);
+        orderMapper = context.getBean(OrderMapper.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                context.getBean(EntityManagerFactory.class));
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        List<Item> items = context.getBean(ItemRepository.class).saveAll(IntStream.range(0, LINES_PER_ORDER)
+                .mapToObj(i -> new Item(null, "Item " + i, BigDecimal.valueOf(i + 1L)))
+                .toList());
+        for (int from = 0; from < ORDER_COUNT; from += INSERT_CHUNK) {
+            orderRepository.insertAll(IntStream.range(from, from + INSERT_CHUNK)
+                    .mapToObj(i -> newOrder(i, items))
+                    .toList());
+        }
+        spec = OrderSpecification.from(new OrderFilterDto(List.of(OrderStatus.NEW), null));
+        pageable = PageRequest.of(1, pageSize, Sort.by(Sort.Direction.DESC, "creationDate"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<OrderDto> searchPage(Allocation allocation) {
+        long before = Allocation.allocatedBytes();
+        Page<OrderDto> page = readOnlyTransaction.execute(status -> "entity".equals(path)
+                ? findEntityPage().map(orderMapper::map)
+                : orderRepository.findViewPage(spec, pageable).map(view -> view.toDto(null)));
+        allocation.record(Allocation.allocatedBytes() - before);
+        return page;
+    }
+
+    /**
+     * The entity path kept for comparison only: the same ID page and count as {@code findViewPage}, with the
+     * orders then fetched as managed entities together with their lines and items.
+     */
+    private Page<Order> findEntityPage() {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> idQuery = cb.createQuery(Long.class);
+        Root<Order> root = idQuery.from(Order.class);
+        idQuery.select(root.get("id"))
+                .where(spec.toPredicate(root, idQuery, cb))
+                .orderBy(QueryUtils.toOrders(pageable.getSort().and(Sort.by("id")), root, cb));
+        List<Long> ids = entityManager.createQuery(idQuery)
+                .setFirstResult(Math.toIntExact(pageable.getOffset()))
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        Map<Long, Order> ordersById = entityManager.createQuery(FETCH_WITH_ITEMS, Order.class)
+                .setParameter("ids", ids)
+                .getResultStream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        List<Order> orders = ids.stream().map(ordersById::get).toList();
+        return PageableExecutionUtils.getPage(orders, pageable, () -> orderRepository.count(spec));
+    }
+
+    private static Order newOrder(int index, List<Item> items) {
+        Order order = new Order();
+        order.setUserId((long) index % 100);
+        order.setStatus(OrderStatus.NEW);
+        order.setCreationDate(LocalDate.now().minusDays(index % 365));
+        order.setItems(new ArrayList<>(items.stream()
+                .map(item -> new OrderItem(null, order, item, index % 3 + 1))
+                .toList()));
+        return order;
+    }
+
+    /**
+     * Bytes allocated by the benchmark thread per page, averaged over each iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Allocation {
+
+        private static final com.sun.management.ThreadMXBean THREADS =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        private long bytes;
+        private long pages;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+            pages = 0;
+        }
+
+        public double bytesPerPage() {
+            return pages == 0 ? 0 : (double) bytes / pages;
+        }
+
+        void record(long allocated) {
+            bytes += allocated;
+            pages++;
+        }
+
+        static long allocatedBytes() {
+            return THREADS.getCurrentThreadAllocatedBytes();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.innowise.orderservice.benchmark;
+
+import com.innowise.orderservice.config.AppConfig;
+import com.innowise.orderservice.config.JwtTokenProvider;
+import com.innowise.orderservice.model.dto.userservice.UserDto;
+import com.innowise.orderservice.service.impl.LastKnownUserStore;
+import com.innowise.orderservice.service.impl.UserClientImpl;
+import com.innowise.orderservice.service.impl.UserServiceHedger;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to serve a burst of {@value #CONCURRENT_REQUESTS} concurrent requests, each of which looks up its caller
+ * in a slow user-service ({@value #UPSTREAM_DELAY_MS} ms per call) through the pooled {@link UserClientImpl}
+ * guarded by the "user-service" circuit breaker:
+ * <ul>
+ *     <li>{@code platform} - requests queue for a pool of {@value #PLATFORM_THREADS} platform threads,
+ *     the default Tomcat worker pool;</li>
+ *     <li>{@code virtual} - every request runs on its own virtual thread, as Tomcat does with
+ *     {@code spring.threads.virtual.enabled=true}.</li>
+ * </ul>
+ * <p>
+ * The stub is a plain JDK {@link HttpServer} that sleeps on a virtual thread per exchange; WireMock spends
+ * enough CPU per request to become the bottleneck of a burst this size. The stub keeps every connection of the
+ * pool alive, so the measurement is not skewed by reconnects.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=VirtualThreadLoadBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.maxIdleConnections=" + VirtualThreadLoadBenchmark.CONCURRENT_REQUESTS)
+public class VirtualThreadLoadBenchmark {
+
+    private static final String USERS_PATH = "/api/v1/users";
+    static final int CONCURRENT_REQUESTS = 1000;
+    private static final int PLATFORM_THREADS = 200;
+    private static final int UPSTREAM_DELAY_MS = 100;
+    private static final byte[] USER_PAGE = """
+            {"content": [{"id": 1, "name": "Name", "surname": "Surname", "email": "admin@example.com"}]}
+            """.getBytes(StandardCharsets.UTF_8);
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    private HttpServer userService;
+    private CloseableHttpClient httpClient;
+    private UserClientImpl userClient;
+    private CircuitBreaker circuitBreaker;
+    private ExecutorService requestThreads;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        userService = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                CONCURRENT_REQUESTS);
+        userService.createContext(USERS_PATH, VirtualThreadLoadBenchmark::slowUserPage);
+        userService.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        userService.start();
+        String userServiceUrl = "http://localhost:" + userService.getAddress().getPort();
+
+        AppConfig appConfig = new AppConfig();
+        httpClient = appConfig.userServiceHttpClient(
+                appConfig.userServiceConnectionManager(CONCURRENT_REQUESTS, CONCURRENT_REQUESTS,
+                        Duration.ofSeconds(2), Duration.ofSeconds(5), Duration.ofMinutes(5), new SimpleMeterRegistry()),
+                Duration.ofSeconds(5), Duration.ofSeconds(5), Duration.ofSeconds(30));
+        userClient = new UserClientImpl(new JwtTokenProvider(), userServiceUrl, USERS_PATH,
+                appConfig.restTemplate(httpClient), 100, 4, new LastKnownUserStore(100, Duration.ofHours(1)),
+                new UserServiceHedger(false, 0.95, Duration.ofMillis(20), 5, new SimpleMeterRegistry()),
+                TimeLimiterRegistry.ofDefaults());
+        circuitBreaker = CircuitBreakerRegistry.ofDefaults().circuitBreaker("user-service");
+        requestThreads = "virtual".equals(threads)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        requestThreads.shutdownNow();
+        httpClient.close();
+        userService.stop(0);
+    }
+
+    @Benchmark
+    public List<UserDto> burst() throws InterruptedException, ExecutionException {
+        List<Future<UserDto>> requests = new ArrayList<>(CONCURRENT_REQUESTS);
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            String token = "token-" + i;
+            requests.add(requestThreads.submit(() -> handle(token)));
+        }
+        List<UserDto> users = new ArrayList<>(CONCURRENT_REQUESTS);
+        for (Future<UserDto> request : requests) {
+            users.add(request.get());
+        }
+        return users;
+    }
+
+    private static void slowUserPage(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            TimeUnit.MILLISECONDS.sleep(UPSTREAM_DELAY_MS);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, USER_PAGE.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(USER_PAGE);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private UserDto handle(String token) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("admin@example.com", token));
+        try {
+            return circuitBreaker.executeSupplier(() -> userClient.getUserByEmail("admin@example.com"));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.innowise.orderservice.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static com.innowise.orderservice.config.AdaptiveConcurrencyLimiter.SAMPLE_WINDOW;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final int MIN_LIMIT = 2;
+    private static final Duration USUAL_RTT = Duration.ofMillis(10);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void tryAcquire_shouldRejectOnceLimitIsReached_andCountRejections() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        assertThat(meterRegistry.get("orders.concurrency.inflight").tag("endpoint", "read").gauge().value())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("orders.concurrency.limit").tag("endpoint", "read").gauge().value())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("orders.concurrency.rejected").tag("endpoint", "read").counter().count())
+                .isEqualTo(1);
+
+        limiter.releaseIgnored();
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void release_shouldGrowLimit_whileSaturatedAndLatencyIsSteady() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        for (int i = 0; i < 30; i++) {
+            saturatedWindow(limiter, USUAL_RTT);
+        }
+
+        assertThat(limiter.getLimit()).isGreaterThan(10);
+    }
+
+    @Test
+    void release_shouldShrinkLimit_whenRequestsStartToQueue() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+        for (int i = 0; i < 30; i++) {
+            saturatedWindow(limiter, USUAL_RTT);
+        }
+        int learned = limiter.getLimit();
+
+        for (int i = 0; i < 20; i++) {
+            saturatedWindow(limiter, USUAL_RTT.multipliedBy(5));
+        }
+
+        assertThat(limiter.getLimit()).isLessThan(learned / 2).isGreaterThanOrEqualTo(MIN_LIMIT);
+    }
+
+    @Test
+    void release_shouldKeepLimit_whenTrafficStaysFarBelowIt() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+
+        for (int i = 0; i < 30 * SAMPLE_WINDOW; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+            limiter.release(USUAL_RTT.toNanos());
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(20);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        return new AdaptiveConcurrencyLimiter("read", initialLimit, MIN_LIMIT, 100, 1.5, meterRegistry);
+    }
+
+    /**
+     * Keeps as many requests in flight as the limit allows while one sample window of them completes.
+     */
+    private static void saturatedWindow(AdaptiveConcurrencyLimiter limiter, Duration rtt) {
+        int held = 0;
+        while (limiter.tryAcquire()) {
+            held++;
+        }
+        for (int i = 0; i < SAMPLE_WINDOW; i++) {
+            limiter.release(rtt.toNanos());
+            held--;
+            if (limiter.tryAcquire()) {
+                held++;
+            }
+        }
+        for (; held > 0; held--) {
+            limiter.releaseIgnored();
+        }
+    }
+}
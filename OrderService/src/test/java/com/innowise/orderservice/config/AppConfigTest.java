@@ -0,0 +1,78 @@
+package com.innowise.orderservice.config;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.ok;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AppConfigTest {
+
+    @RegisterExtension
+    private static final WireMockExtension wiremock = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort())
+            .build();
+
+    private final AppConfig appConfig = new AppConfig();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() {
+        connectionManager = appConfig.userServiceConnectionManager(10, 5, Duration.ofSeconds(1),
+                Duration.ofSeconds(1), Duration.ofMinutes(1), meterRegistry);
+        httpClient = appConfig.userServiceHttpClient(connectionManager, Duration.ofSeconds(1),
+                Duration.ofMillis(100), Duration.ofSeconds(30));
+        restTemplate = appConfig.restTemplate(httpClient);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+    }
+
+    @Test
+    void restTemplate_shouldReuseKeepAliveConnection() {
+        wiremock.stubFor(get("/users").willReturn(ok("{}")));
+
+        restTemplate.getForObject(wiremock.baseUrl() + "/users", String.class);
+        restTemplate.getForObject(wiremock.baseUrl() + "/users", String.class);
+
+        assertThat(connectionManager.getTotalStats().getAvailable()).isEqualTo(1);
+        assertThat(connectionManager.getTotalStats().getLeased()).isZero();
+    }
+
+    @Test
+    void restTemplate_shouldFailWhenUpstreamIsStuck() {
+        wiremock.stubFor(get("/users").willReturn(ok("{}").withFixedDelay(3000)));
+
+        assertThatThrownBy(() -> restTemplate.getForObject(wiremock.baseUrl() + "/users", String.class))
+                .isInstanceOf(ResourceAccessException.class);
+    }
+
+    @Test
+    void connectionManager_shouldPublishPoolMetrics() {
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "user-service")
+                .gauge().value()).isEqualTo(10);
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.route.max.default")
+                .gauge().value()).isEqualTo(5);
+    }
+}
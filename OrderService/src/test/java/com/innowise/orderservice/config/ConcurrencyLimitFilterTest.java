@@ -0,0 +1,120 @@
+package com.innowise.orderservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrencyLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(
+            new ObjectMapper().registerModule(new JavaTimeModule()), meterRegistry,
+            true, Duration.ofSeconds(2), 1.5, 1, 1, 5, 1, 50, 1, 20, 1, 2, 1, 2);
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "user@example.com", "token", List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldShedSearch_withRetryAfter_whileSearchLimitIsTaken_butServeReads() throws Exception {
+        MockHttpServletRequest pendingSearch = request("GET", "/api/v1/orders");
+        filter.doFilter(pendingSearch, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        MockHttpServletResponse shed = new MockHttpServletResponse();
+        filter.doFilter(request("GET", "/api/v1/orders/cursor"), shed, new MockFilterChain());
+
+        assertThat(shed.getStatus()).isEqualTo(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        assertThat(shed.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(shed.getContentAsString()).contains("\"status\":503", "/api/v1/orders/cursor");
+        assertThat(meterRegistry.get("orders.concurrency.rejected").tag("endpoint", "search").counter().count())
+                .isEqualTo(1);
+        assertThat(served(request("GET", "/api/v1/orders/7"))).isTrue();
+
+        pendingSearch.getAsyncContext().complete();
+
+        assertThat(served(request("GET", "/api/v1/orders"))).isTrue();
+    }
+
+    @Test
+    void shouldLimitWritesSeparatelyFromReads() {
+        assertThat(filter.limiterFor(request("POST", "/api/v1/orders")))
+                .isSameAs(filter.limiterFor(request("PUT", "/api/v1/orders/7")))
+                .isSameAs(filter.limiterFor(request("DELETE", "/api/v1/orders/7")))
+                .isNotSameAs(filter.limiterFor(request("GET", "/api/v1/orders/7")))
+                .isNotSameAs(filter.limiterFor(request("GET", "/api/v1/orders")))
+                .isNotSameAs(filter.limiterFor(request("POST", "/api/v1/orders/bulk")));
+        assertThat(filter.limiterFor(request("GET", "/api/v1/orders/export")))
+                .isNotSameAs(filter.limiterFor(request("POST", "/api/v1/orders/bulk")))
+                .isNotSameAs(filter.limiterFor(request("GET", "/api/v1/orders")));
+    }
+
+    @Test
+    void shouldReleaseSlot_whenRequestFails() {
+        FilterChain failing = (req, res) -> {
+            throw new IllegalStateException("Connection is not available");
+        };
+
+        assertThatThrownBy(() -> filter.doFilter(request("GET", "/api/v1/orders"), new MockHttpServletResponse(),
+                failing)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(filter.limiterFor(request("GET", "/api/v1/orders")).getInFlight()).isZero();
+    }
+
+    @Test
+    void shouldNotLimitRequestsOutsideOrdersApi() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            filter.doFilter(request("GET", "/actuator/health"), new MockHttpServletResponse(),
+                    (req, res) -> req.startAsync());
+        }
+
+        assertThat(served(request("GET", "/api/v1/orders"))).isTrue();
+    }
+
+    @Test
+    void shouldNotLimitUnauthenticatedRequests() throws Exception {
+        SecurityContextHolder.clearContext();
+        for (int i = 0; i < 3; i++) {
+            filter.doFilter(request("GET", "/api/v1/orders"), new MockHttpServletResponse(),
+                    (req, res) -> req.startAsync());
+        }
+
+        assertThat(filter.limiterFor(request("GET", "/api/v1/orders")).getInFlight()).isZero();
+    }
+
+    private boolean served(MockHttpServletRequest request) throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> calls.incrementAndGet());
+        return calls.get() == 1;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setAsyncSupported(true);
+        return request;
+    }
+}
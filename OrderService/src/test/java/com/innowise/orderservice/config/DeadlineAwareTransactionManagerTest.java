@@ -0,0 +1,74 @@
+package com.innowise.orderservice.config;
+
+import com.innowise.orderservice.exception.DeadlineExceededException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DeadlineAwareTransactionManagerTest {
+
+    private final EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+    private final TransactionTemplate transaction =
+            new TransactionTemplate(new DeadlineAwareTransactionManager(entityManagerFactory));
+
+    @BeforeEach
+    void setUp() {
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManagerFactory.createEntityManager()).thenReturn(entityManager);
+        when(entityManager.getTransaction()).thenReturn(mock(EntityTransaction.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void shouldBoundTransaction_byTimeLeftUntilDeadline() {
+        RequestDeadline.set(Duration.ofMillis(2500));
+        transaction.setTimeout(10);
+
+        int timeToLive = transaction.execute(status -> holder().getTimeToLiveInSeconds());
+
+        assertThat(timeToLive).isBetween(1, 3);
+    }
+
+    @Test
+    void shouldKeepConfiguredTimeout_whenItEndsBeforeDeadline() {
+        RequestDeadline.set(Duration.ofMinutes(1));
+        transaction.setTimeout(5);
+
+        int timeToLive = transaction.execute(status -> holder().getTimeToLiveInSeconds());
+
+        assertThat(timeToLive).isBetween(4, 5);
+    }
+
+    @Test
+    void shouldNotOpenEntityManager_whenDeadlineHasPassed() {
+        RequestDeadline.set(Duration.ZERO);
+
+        assertThatThrownBy(() -> transaction.executeWithoutResult(status -> {
+        })).isInstanceOf(DeadlineExceededException.class);
+
+        verify(entityManagerFactory, never()).createEntityManager();
+    }
+
+    private EntityManagerHolder holder() {
+        return (EntityManagerHolder) TransactionSynchronizationManager.getResource(entityManagerFactory);
+    }
+}
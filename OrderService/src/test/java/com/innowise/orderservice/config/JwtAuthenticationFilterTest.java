@@ -0,0 +1,136 @@
+package com.innowise.orderservice.config;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.innowise.orderservice.config.AuthConstant.AUTH_HEADER;
+import static com.innowise.orderservice.config.AuthConstant.TOKEN_PREFIX;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "dGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQ=";
+
+    private JwtAuthenticationFilter filter = filter(false);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldUseSubjectAsPrincipal_whenClaimsModeIsOff() throws Exception {
+        Authentication authentication = authenticate(Map.of("userId", 42));
+
+        assertThat(authentication.getPrincipal()).isEqualTo("alice@example.com");
+    }
+
+    @Test
+    void shouldReadUserIdAndProfileClaims_whenClaimsModeIsOn() throws Exception {
+        filter = filter(true);
+
+        Authentication authentication = authenticate(Map.of("userId", 42, "name", "Alice", "role", "USER"));
+
+        assertThat(authentication.getPrincipal())
+                .isEqualTo(new JwtPrincipal("alice@example.com", 42L, "Alice", null));
+        assertThat(authentication.getName()).isEqualTo("alice@example.com");
+        assertThat(authentication.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void shouldLeaveUserIdEmpty_whenTokenHasNoUserIdClaim() throws Exception {
+        filter = filter(true);
+
+        Authentication authentication = authenticate(Map.of());
+
+        assertThat(((JwtPrincipal) authentication.getPrincipal()).userId()).isNull();
+    }
+
+    @Test
+    void shouldReuseVerifiedToken_andShareAuthorities() throws Exception {
+        String token = token(Map.of("role", "ADMIN"), Instant.now().plusSeconds(60));
+
+        Authentication first = authenticate(token);
+        Authentication second = authenticate(token);
+
+        assertThat(second.getAuthorities().iterator().next()).isSameAs(first.getAuthorities().iterator().next());
+        assertThat(second.getCredentials()).isEqualTo(token);
+    }
+
+    @Test
+    void shouldRejectToken_onceItExpired() throws Exception {
+        String token = token(Map.of(), Instant.now().plusMillis(1500));
+        assertThat(authenticate(token)).isNotNull();
+
+        TimeUnit.MILLISECONDS.sleep(2000);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(token), response, new MockFilterChain());
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_UNAUTHORIZED);
+    }
+
+    @Test
+    void shouldRejectTamperedToken_evenIfOriginalWasCached() throws Exception {
+        String token = token(Map.of("role", "USER"), Instant.now().plusSeconds(60));
+        authenticate(token);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(tampered), response, new MockFilterChain());
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_UNAUTHORIZED);
+    }
+
+    private static JwtAuthenticationFilter filter(boolean claimsPrincipalEnabled) {
+        return new JwtAuthenticationFilter(SECRET, 100, Duration.ofMinutes(5), claimsPrincipalEnabled,
+                "userId", "name", "surname");
+    }
+
+    private static String token(Map<String, Object> claims, Instant expiresAt) {
+        return Jwts.builder()
+                .setSubject("alice@example.com")
+                .addClaims(claims)
+                .setExpiration(Date.from(expiresAt))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .compact();
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(AUTH_HEADER, TOKEN_PREFIX + token);
+        return request;
+    }
+
+    private Authentication authenticate(Map<String, Object> claims) throws Exception {
+        return authenticate(token(claims, Instant.now().plusSeconds(60)));
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        AtomicReference<Authentication> authentication = new AtomicReference<>();
+
+        filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) {
+                authentication.set(SecurityContextHolder.getContext().getAuthentication());
+            }
+        });
+        return authentication.get();
+    }
+}
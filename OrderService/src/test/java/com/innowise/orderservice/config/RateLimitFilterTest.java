@@ -0,0 +1,98 @@
+package com.innowise.orderservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private static final double NO_REFILL = 0.001;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RateLimitFilter filter = new RateLimitFilter(
+            new ObjectMapper().registerModule(new JavaTimeModule()), meterRegistry,
+            true, Duration.ofMinutes(10), 100, NO_REFILL, 2, NO_REFILL, 5);
+    private final AtomicInteger served = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldReturn429WithoutServing_onceUserRunsOutOfTokens() throws Exception {
+        authenticate("alice@example.com", "USER");
+        call("POST", "/api/v1/orders");
+        call("POST", "/api/v1/orders");
+
+        MockHttpServletResponse denied = call("POST", "/api/v1/orders");
+
+        assertThat(denied.getStatus()).isEqualTo(429);
+        assertThat(Long.parseLong(denied.getHeader("Retry-After"))).isPositive();
+        assertThat(denied.getContentAsString()).contains("\"status\":429");
+        assertThat(served).hasValue(2);
+        assertThat(meterRegistry.get("orders.rate-limit.rejected").tag("role", "user").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldLimitEachSubjectSeparately() throws Exception {
+        authenticate("alice@example.com", "USER");
+        call("GET", "/api/v1/orders/1");
+        call("GET", "/api/v1/orders/1");
+        assertThat(call("GET", "/api/v1/orders/1").getStatus()).isEqualTo(429);
+
+        authenticate("bob@example.com", "USER");
+
+        assertThat(call("GET", "/api/v1/orders/1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldApplyAdminLimits_toAdmins() throws Exception {
+        authenticate("admin@example.com", "ADMIN");
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(call("GET", "/api/v1/orders").getStatus()).isEqualTo(200);
+        }
+        assertThat(call("GET", "/api/v1/orders").getStatus()).isEqualTo(429);
+        assertThat(meterRegistry.get("orders.rate-limit.rejected").tag("role", "admin").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldPassAnonymousRequestsAndOtherPaths_untouched() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            call("POST", "/api/v1/orders");
+        }
+        authenticate("alice@example.com", "USER");
+        for (int i = 0; i < 5; i++) {
+            call("GET", "/actuator/health");
+        }
+
+        assertThat(served).hasValue(10);
+    }
+
+    private void authenticate(String subject, String role) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(subject, "token",
+                List.of(new SimpleGrantedAuthority("ROLE_" + role))));
+    }
+
+    private MockHttpServletResponse call(String method, String uri) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(method, uri), response, (req, res) -> served.incrementAndGet());
+        return response;
+    }
+}
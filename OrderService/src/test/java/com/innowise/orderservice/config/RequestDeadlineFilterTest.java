@@ -0,0 +1,71 @@
+package com.innowise.orderservice.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestDeadlineFilterTest {
+
+    private final RequestDeadlineFilter filter = new RequestDeadlineFilter("X-Request-Timeout",
+            Duration.ofSeconds(10), Duration.ofSeconds(30), Duration.ofSeconds(3), Duration.ofSeconds(10),
+            Duration.ofSeconds(5), Duration.ofSeconds(15), Duration.ofMinutes(5), Duration.ofMinutes(15));
+
+    @Test
+    void shouldUseEndpointDefault_whenNoTimeoutIsRequested() {
+        assertThat(filter.timeoutOf(request("GET", "/api/v1/orders/cursor"))).contains(Duration.ofSeconds(10));
+        assertThat(filter.timeoutOf(request("GET", "/api/v1/orders/7"))).contains(Duration.ofSeconds(3));
+        assertThat(filter.timeoutOf(request("PUT", "/api/v1/orders/7"))).contains(Duration.ofSeconds(5));
+        assertThat(filter.timeoutOf(request("POST", "/api/v1/orders/bulk"))).contains(Duration.ofMinutes(5));
+    }
+
+    @Test
+    void shouldNotBindDeadline_forExports() throws Exception {
+        MockHttpServletRequest export = request("GET", "/api/v1/orders/export");
+        export.addHeader("X-Request-Timeout", "250");
+        AtomicReference<Optional<Duration>> seen = new AtomicReference<>();
+
+        filter.doFilter(export, new MockHttpServletResponse(), (req, res) -> seen.set(RequestDeadline.remaining()));
+
+        assertThat(filter.timeoutOf(export)).isEmpty();
+        assertThat(seen.get()).isEmpty();
+    }
+
+    @Test
+    void shouldHonourRequestedTimeout_upToEndpointMax_andIgnoreMalformedOne() {
+        MockHttpServletRequest shorter = request("GET", "/api/v1/orders/7");
+        shorter.addHeader("X-Request-Timeout", "250");
+        MockHttpServletRequest longer = request("GET", "/api/v1/orders/7");
+        longer.addHeader("X-Request-Timeout", "600000");
+        MockHttpServletRequest longerBulk = request("POST", "/api/v1/orders/bulk");
+        longerBulk.addHeader("X-Request-Timeout", "600000");
+        MockHttpServletRequest malformed = request("GET", "/api/v1/orders/7");
+        malformed.addHeader("X-Request-Timeout", "soon");
+
+        assertThat(filter.timeoutOf(shorter)).contains(Duration.ofMillis(250));
+        assertThat(filter.timeoutOf(longer)).contains(Duration.ofSeconds(10));
+        assertThat(filter.timeoutOf(longerBulk)).contains(Duration.ofMinutes(10));
+        assertThat(filter.timeoutOf(malformed)).contains(Duration.ofSeconds(3));
+    }
+
+    @Test
+    void shouldBindDeadline_forTheRequestOnly() throws Exception {
+        AtomicReference<Optional<Duration>> seen = new AtomicReference<>();
+
+        filter.doFilter(request("GET", "/api/v1/orders/7"), new MockHttpServletResponse(),
+                (req, res) -> seen.set(RequestDeadline.remaining()));
+
+        assertThat(seen.get()).hasValueSatisfying(left ->
+                assertThat(left).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(3)));
+        assertThat(RequestDeadline.remaining()).isEmpty();
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        return new MockHttpServletRequest(method, uri);
+    }
+}
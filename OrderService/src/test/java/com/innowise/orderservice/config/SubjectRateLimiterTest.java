@@ -0,0 +1,83 @@
+package com.innowise.orderservice.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SubjectRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final SubjectRateLimiter limiter = new SubjectRateLimiter(2, 4, Duration.ofMinutes(10), 100);
+
+    @Test
+    void tryAcquire_shouldAllowBurst_thenAskToWaitForNextToken() {
+        long now = 42 * SECOND;
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire("alice@example.com", () -> now)).isZero();
+        }
+
+        assertThat(limiter.tryAcquire("alice@example.com", () -> now)).isEqualTo(SECOND / 2);
+    }
+
+    @Test
+    void tryAcquire_shouldRefillAtConfiguredRate() {
+        long now = -7 * SECOND;
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire("alice@example.com", () -> now);
+        }
+
+        assertThat(limiter.tryAcquire("alice@example.com", () -> now + SECOND / 2)).isZero();
+        assertThat(limiter.tryAcquire("alice@example.com", () -> now + SECOND / 2)).isPositive();
+        assertThat(limiter.tryAcquire("alice@example.com", () -> now + 3 * SECOND)).isZero();
+    }
+
+    @Test
+    void tryAcquire_shouldKeepSeparateBucketPerSubject() {
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire("alice@example.com", () -> 0);
+        }
+
+        assertThat(limiter.tryAcquire("alice@example.com", () -> 0)).isPositive();
+        assertThat(limiter.tryAcquire("bob@example.com", () -> 0)).isZero();
+        assertThat(limiter.trackedSubjects()).isEqualTo(2);
+    }
+
+    @Test
+    void evictIdle_shouldDropOnlyBucketsFullForIdleTimeout() {
+        limiter.tryAcquire("alice@example.com", () -> 0);
+        limiter.tryAcquire("bob@example.com", () -> 9 * 60 * SECOND);
+
+        limiter.evictIdle(() -> 10 * 60 * SECOND + SECOND);
+
+        assertThat(limiter.trackedSubjects()).isEqualTo(1);
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("bob@example.com", () -> 9 * 60 * SECOND)).isZero();
+        }
+        assertThat(limiter.tryAcquire("bob@example.com", () -> 9 * 60 * SECOND)).isPositive();
+    }
+
+    @Test
+    void tryAcquire_shouldNotHandOutMoreThanBurst_underConcurrentCallers() throws InterruptedException {
+        SubjectRateLimiter slowRefill = new SubjectRateLimiter(0.001, 50, Duration.ofMinutes(10), 100);
+        AtomicInteger granted = new AtomicInteger();
+
+        try (ExecutorService callers = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 400; i++) {
+                callers.execute(() -> {
+                    if (slowRefill.tryAcquire("alice@example.com").isZero()) {
+                        granted.incrementAndGet();
+                    }
+                });
+            }
+        }
+
+        assertThat(granted).hasValue(50);
+    }
+}
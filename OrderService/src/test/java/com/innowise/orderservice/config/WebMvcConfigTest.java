@@ -0,0 +1,35 @@
+package com.innowise.orderservice.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WebMvcConfigTest {
+
+    private final WebMvcConfig.ExportTimeoutInterceptor interceptor = new WebMvcConfig.ExportTimeoutInterceptor();
+
+    @Test
+    void shouldLiftAsyncTimeout_forExportsOnly() {
+        AsyncWebRequest export = asyncRequest("GET", "/api/v1/orders/export");
+        AsyncWebRequest search = asyncRequest("GET", "/api/v1/orders/cursor");
+
+        interceptor.beforeConcurrentHandling(export, () -> null);
+        interceptor.beforeConcurrentHandling(search, () -> null);
+
+        verify(export).setTimeout(-1L);
+        verify(search, never()).setTimeout(anyLong());
+    }
+
+    private static AsyncWebRequest asyncRequest(String method, String uri) {
+        AsyncWebRequest request = mock(AsyncWebRequest.class);
+        when(request.getNativeRequest(HttpServletRequest.class)).thenReturn(new MockHttpServletRequest(method, uri));
+        return request;
+    }
+}
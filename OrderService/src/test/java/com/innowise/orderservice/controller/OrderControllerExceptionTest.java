@@ -2,8 +2,14 @@ package com.innowise.orderservice.controller;
 
 
 import com.innowise.orderservice.exception.ApiErrorHandler;
+import com.innowise.orderservice.exception.DeadlineExceededException;
+import com.innowise.orderservice.exception.InvalidCursorException;
+import com.innowise.orderservice.model.dto.OrderFilterDto;
 import com.innowise.orderservice.exception.ResourceNotFoundException;
+import com.innowise.orderservice.service.BulkOrderService;
+import com.innowise.orderservice.service.OrderExportService;
 import com.innowise.orderservice.service.OrderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -14,19 +20,27 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ActiveProfiles("test")
 @WebMvcTest(OrderController.class)
-@Import({ApiErrorHandler.class})
+@Import({ApiErrorHandler.class, SimpleMeterRegistry.class})
 @AutoConfigureMockMvc
 class OrderControllerExceptionTest {
 
@@ -36,10 +50,16 @@ class OrderControllerExceptionTest {
     @MockitoBean
     private OrderService orderService;
 
+    @MockitoBean
+    private BulkOrderService bulkOrderService;
+
+    @MockitoBean
+    private OrderExportService orderExportService;
+
     @Test
     @WithMockUser(roles = "USER")
     void getOrderById_shouldReturn404_whenNotFound() throws Exception {
-        when(orderService.getOrderById(anyLong()))
+        when(orderService.getOrderById(anyLong(), anyBoolean()))
                 .thenThrow(new ResourceNotFoundException("Order not found"));
 
         mockMvc.perform(get("/api/v1/orders/99"))
@@ -48,6 +68,37 @@ class OrderControllerExceptionTest {
                 .andExpect(jsonPath("$.status").value(404));
     }
 
+    @Test
+    @WithMockUser(roles = "USER")
+    void getOrderById_shouldReturn404_whenUserLookupFailsAsynchronously() throws Exception {
+        when(orderService.getOrderById(anyLong(), anyBoolean()))
+                .thenReturn(Mono.error(new ResourceNotFoundException("User service unavailable")));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/orders/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("User service unavailable"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getOrderById_shouldReturn504_whenRequestDeadlineExpires() throws Exception {
+        when(orderService.getOrderById(anyLong(), anyBoolean()))
+                .thenReturn(Mono.error(new DeadlineExceededException("Request deadline exceeded")));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/orders/1").header("X-Request-Timeout", "50"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(jsonPath("$.status").value(504))
+                .andExpect(jsonPath("$.error").value("Request deadline exceeded"));
+    }
+
     @Test
     void deleteOrder_shouldReturn403_whenUnauthorized() throws Exception {
         mockMvc.perform(delete("/api/v1/orders/5"))
@@ -57,7 +108,7 @@ class OrderControllerExceptionTest {
     @Test
     @WithMockUser(roles = "ADMIN")
     void shouldReturn500_onGenericException() throws Exception {
-        when(orderService.getOrderById(anyLong()))
+        when(orderService.getOrderById(anyLong(), anyBoolean()))
                 .thenThrow(new RuntimeException("Unexpected error"));
 
         mockMvc.perform(get("/api/v1/orders/1"))
@@ -67,6 +118,18 @@ class OrderControllerExceptionTest {
                 .andExpect(jsonPath("$.path").value("/api/v1/orders/1"));
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldReturn400_onInvalidCursor() throws Exception {
+        when(orderService.searchOrders(any(OrderFilterDto.class), eq("garbage"), anyInt()))
+                .thenThrow(new InvalidCursorException("Invalid cursor: garbage"));
+
+        mockMvc.perform(get("/api/v1/orders/cursor").param("after", "garbage"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.error").value("Invalid cursor: garbage"));
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void shouldReturn400_onValidationError() throws Exception {
@@ -1,42 +1,63 @@
 package com.innowise.orderservice.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.orderservice.model.ExportFormat;
 import com.innowise.orderservice.model.OrderStatus;
+import com.innowise.orderservice.model.dto.BulkOrderFailureDto;
+import com.innowise.orderservice.model.dto.BulkOrderResultDto;
 import com.innowise.orderservice.model.dto.CreateOrderItemDto;
+import com.innowise.orderservice.model.dto.CursorPageDto;
 import com.innowise.orderservice.model.dto.OrderDto;
 import com.innowise.orderservice.model.dto.OrderFilterDto;
 import com.innowise.orderservice.model.dto.userservice.UserDto;
+import com.innowise.orderservice.service.BulkOrderService;
+import com.innowise.orderservice.service.OrderExportService;
 import com.innowise.orderservice.service.OrderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ActiveProfiles("test")
 @WebMvcTest(controllers = OrderController.class)
 @AutoConfigureMockMvc(addFilters = false)
+@Import(SimpleMeterRegistry.class)
 class OrderControllerTest {
 
     @Autowired
@@ -45,6 +66,12 @@ class OrderControllerTest {
     @MockitoBean
     private OrderService orderService;
 
+    @MockitoBean
+    private BulkOrderService bulkOrderService;
+
+    @MockitoBean
+    private OrderExportService orderExportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -66,7 +93,7 @@ class OrderControllerTest {
     @Test
     @WithMockUser(roles = {"USER"})
     void createOrder_shouldReturnCreatedOrder() throws Exception {
-        Mockito.when(orderService.createOrder(any())).thenReturn(sampleOrder);
+        Mockito.when(orderService.createOrder(any(), anyBoolean())).thenReturn(sampleOrder);
 
         mockMvc.perform(post("/api/v1/orders")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -79,27 +106,72 @@ class OrderControllerTest {
     @Test
     @WithMockUser(roles = {"USER"})
     void getOrderById_shouldReturnOrder() throws Exception {
-        Mockito.when(orderService.getOrderById(1L)).thenReturn(sampleOrder);
+        Mockito.when(orderService.getOrderById(1L, false)).thenReturn(Mono.just(sampleOrder));
 
-        mockMvc.perform(get("/api/v1/orders/1"))
+        MvcResult result = mockMvc.perform(get("/api/v1/orders/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(sampleOrder.id()))
-                .andExpect(jsonPath("$.user.name").value("Darya"));
+                .andExpect(jsonPath("$.user.name").value("Darya"))
+                .andExpect(header().doesNotExist(StaleUserHeaderAdvice.STALE_USER_HEADER))
+                .andExpect(jsonPath("$.user.stale").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void getOrderById_shouldFlagStaleUser() throws Exception {
+        OrderDto staleOrder = new OrderDto(sampleOrder.id(), sampleOrder.status(), sampleOrder.creationDate(),
+                sampleOrder.items(), sampleOrder.user().asStale());
+        Mockito.when(orderService.getOrderById(1L, false)).thenReturn(Mono.just(staleOrder));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/orders/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(StaleUserHeaderAdvice.STALE_USER_HEADER, "true"))
+                .andExpect(jsonPath("$.user.stale").value(true));
     }
 
     @Test
     @WithMockUser(roles = {"ADMIN"})
     void search_shouldReturnPageOfOrders_whenHasContent() throws Exception {
         Mockito.when(orderService.searchOrders(any(OrderFilterDto.class), any()))
-                .thenReturn(new PageImpl<>(List.of(sampleOrder), PageRequest.of(0, 10), 1));
+                .thenReturn(Mono.just(new PageImpl<>(List.of(sampleOrder), PageRequest.of(0, 10), 1)));
 
-        mockMvc.perform(get("/api/v1/orders")
+        MvcResult result = mockMvc.perform(get("/api/v1/orders")
                         .param("page", "0")
                         .param("size", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content[0].id").value(sampleOrder.id()));
     }
 
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void searchByCursor_shouldReturnSliceWithNextCursor() throws Exception {
+        Mockito.when(orderService.searchOrders(any(OrderFilterDto.class), eq("MjAyNS0xMC0wMzox"), anyInt()))
+                .thenReturn(Mono.just(new CursorPageDto<>(List.of(sampleOrder), 1, "next-token")));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/orders/cursor")
+                        .param("after", "MjAyNS0xMC0wMzox")
+                        .param("size", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(sampleOrder.id()))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"));
+    }
+
     @Test
     @WithMockUser(roles = {"ADMIN"})
     void updateOrder_shouldReturnUpdatedOrder() throws Exception {
@@ -113,7 +185,7 @@ class OrderControllerTest {
                         Collections.emptyList())
         );
 
-        Mockito.when(orderService.updateOrder(eq(1L), any())).thenReturn(updated);
+        Mockito.when(orderService.updateOrder(eq(1L), any(), anyBoolean())).thenReturn(updated);
 
         mockMvc.perform(put("/api/v1/orders/1")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -122,6 +194,49 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.status").value("DELIVERED"));
     }
 
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void importOrders_shouldReturnImportReport() throws Exception {
+        String ndjson = """
+                {"userId":5,"items":[{"itemId":10,"quantity":2}]}
+                {"userId":6,"items":[]}
+                """;
+        Mockito.when(bulkOrderService.importOrders(any())).thenAnswer(invocation -> {
+            String body = new String(invocation.<InputStream>getArgument(0).readAllBytes(), StandardCharsets.UTF_8);
+            return new BulkOrderResultDto((int) body.lines().count(), 1,
+                    List.of(new BulkOrderFailureDto(2, "items: Order must contain at least one item")));
+        });
+
+        mockMvc.perform(post("/api/v1/orders/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2))
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.failures[0].line").value(2));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void exportOrders_shouldStreamCsvAsAttachment() throws Exception {
+        Mockito.doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(2).write("order_id\n1\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(orderExportService).exportOrders(any(OrderFilterDto.class), eq(ExportFormat.CSV), any());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/orders/export")
+                        .param("format", "CSV")
+                        .param("statuses", "NEW"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders.csv\""))
+                .andExpect(content().string("order_id\n1\n"));
+    }
+
     @Test
     @WithMockUser(roles = {"ADMIN"})
     void deleteOrder_shouldReturnNoContent() throws Exception {
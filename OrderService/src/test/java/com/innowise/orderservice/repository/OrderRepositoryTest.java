@@ -2,20 +2,30 @@ package com.innowise.orderservice.repository;
 
 
 import com.innowise.orderservice.model.OrderStatus;
+import com.innowise.orderservice.model.dto.CreateOrderItemDto;
+import com.innowise.orderservice.model.dto.OrderView;
 import com.innowise.orderservice.model.entity.Item;
 import com.innowise.orderservice.model.entity.Order;
 import com.innowise.orderservice.model.entity.OrderItem;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 
 class OrderRepositoryTest extends AbstractIntegrationTest {
@@ -26,6 +36,9 @@ class OrderRepositoryTest extends AbstractIntegrationTest {
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @AfterEach
     void cleanDatabase() {
         orderRepository.deleteAll();
@@ -125,4 +138,147 @@ class OrderRepositoryTest extends AbstractIntegrationTest {
         assertThat(page.getContent()).hasSize(1);
         assertThat(page.getContent().get(0).getStatus()).isEqualTo(OrderStatus.NEW);
     }
+
+    @Test
+    void shouldFindViewPageUsingIdsThenFetch() {
+        // given
+        Item item = itemRepository.save(new Item(null, "Item E", BigDecimal.valueOf(5.0)));
+        for (int i = 0; i < 5; i++) {
+            Order order = new Order();
+            order.setStatus(OrderStatus.NEW);
+            order.setCreationDate(LocalDate.now().minusDays(i));
+            order.setUserId(1L);
+            order.setItems(List.of(new OrderItem(null, order, item, 1), new OrderItem(null, order, item, 2)));
+            orderRepository.save(order);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        var spec = (Specification<Order>) (root, _, cb) ->
+                cb.equal(root.get("status"), OrderStatus.NEW);
+        Page<OrderView> page = orderRepository.findViewPage(spec,
+                PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "creationDate")));
+
+        // then
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getTotalPages()).isEqualTo(3);
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getContent().get(0).creationDate()).isEqualTo(LocalDate.now().minusDays(2));
+        assertThat(page.getContent().get(1).creationDate()).isEqualTo(LocalDate.now().minusDays(3));
+        assertThat(page.getContent()).allSatisfy(order -> assertThat(order.items()).containsExactly(
+                new CreateOrderItemDto(item.getId(), 1), new CreateOrderItemDto(item.getId(), 2)));
+    }
+
+    @Test
+    void shouldFindViewPageWithoutManagingEntities() {
+        // given
+        Item item = itemRepository.save(new Item(null, "Item G", BigDecimal.valueOf(3.0)));
+        for (int i = 0; i < 3; i++) {
+            Order order = newOrder((long) i);
+            order.setCreationDate(LocalDate.now().minusDays(i));
+            order.setItems(i == 0 ? List.of() : List.of(new OrderItem(null, order, item, i)));
+            orderRepository.save(order);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        Page<OrderView> page = orderRepository.findViewPage(null,
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.ASC, "creationDate")));
+
+        // then
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(OrderView::userId).containsExactly(2L, 1L);
+        assertThat(page.getContent().get(0).items()).containsExactly(new CreateOrderItemDto(item.getId(), 2));
+        assertThat(orderRepository.findViews(null, Sort.by("userId"), 1).get(0).items()).isEmpty();
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    void shouldWalkMatchingOrdersInChunks_andDetachEachChunk() {
+        // given
+        Item item = itemRepository.save(new Item(null, "Item F", BigDecimal.valueOf(7.0)));
+        for (long userId = 1; userId <= 5; userId++) {
+            Order order = newOrder(userId);
+            order.setItems(List.of(new OrderItem(null, order, item, 1), new OrderItem(null, order, item, 2)));
+            orderRepository.save(order);
+        }
+        Order cancelled = newOrder(6L);
+        cancelled.setStatus(OrderStatus.CANCELLED);
+        orderRepository.save(cancelled);
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        var spec = (Specification<Order>) (root, _, cb) ->
+                cb.equal(root.get("status"), OrderStatus.NEW);
+        List<List<Order>> chunks = new ArrayList<>();
+        orderRepository.forEachChunkWithItems(spec, 2, chunk -> {
+            assertThat(chunk).allSatisfy(order -> assertThat(order.getItems()).hasSize(2));
+            chunks.add(chunk);
+        });
+
+        // then
+        assertThat(chunks).extracting(List::size).containsExactly(2, 2, 1);
+        assertThat(chunks.stream().flatMap(List::stream).map(Order::getUserId))
+                .containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(chunks.get(0)).noneMatch(entityManager::contains);
+    }
+
+    @Test
+    void shouldInsertAllWithIdsOutsideHibernateBlocks() {
+        // given
+        Item item = itemRepository.save(new Item(null, "Item A", BigDecimal.valueOf(10.0)));
+        Order saved = orderRepository.save(newOrder(1L));
+        List<Order> orders = LongStream.range(0, 120)
+                .mapToObj(userId -> {
+                    Order order = newOrder(userId);
+                    OrderItem orderItem = new OrderItem();
+                    orderItem.setOrder(order);
+                    orderItem.setItem(item);
+                    orderItem.setQuantity(2);
+                    order.setItems(new ArrayList<>(List.of(orderItem)));
+                    return order;
+                })
+                .toList();
+
+        // when
+        orderRepository.insertAll(orders);
+        Order savedAfter = orderRepository.save(newOrder(2L));
+        entityManager.flush();
+        entityManager.clear();
+
+        // then
+        assertThat(orders).extracting(Order::getId).doesNotHaveDuplicates()
+                .doesNotContain(saved.getId(), savedAfter.getId());
+        Optional<Order> loaded = orderRepository.findByIdWithItems(orders.get(119).getId());
+        assertThat(loaded).isPresent();
+        assertThat(loaded.get().getUserId()).isEqualTo(119L);
+        assertThat(loaded.get().getItems()).singleElement().satisfies(orderItem -> {
+            assertThat(orderItem.getQuantity()).isEqualTo(2);
+            assertThat(orderItem.getItem().getName()).isEqualTo("Item A");
+        });
+    }
+
+    @Test
+    void shouldFailOnPaginationOverCollectionFetch() {
+        // given
+        var query = entityManager.createQuery("""
+                SELECT o FROM Order o
+                LEFT JOIN FETCH o.items
+                """, Order.class);
+
+        // when / then
+        assertThatThrownBy(() -> query.setMaxResults(10).getResultList())
+                .hasMessageContaining("fail_on_pagination_over_collection_fetch");
+    }
+
+    private static Order newOrder(Long userId) {
+        Order order = new Order();
+        order.setStatus(OrderStatus.NEW);
+        order.setCreationDate(LocalDate.now());
+        order.setUserId(userId);
+        return order;
+    }
 }
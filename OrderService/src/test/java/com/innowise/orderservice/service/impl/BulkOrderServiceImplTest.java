@@ -0,0 +1,184 @@
+package com.innowise.orderservice.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.orderservice.exception.ResourceNotFoundException;
+import com.innowise.orderservice.model.dto.BulkOrderFailureDto;
+import com.innowise.orderservice.model.dto.BulkOrderResultDto;
+import com.innowise.orderservice.model.dto.userservice.UserDto;
+import com.innowise.orderservice.model.entity.Item;
+import com.innowise.orderservice.model.entity.Order;
+import com.innowise.orderservice.model.entity.OrderItem;
+import com.innowise.orderservice.repository.OrderRepository;
+import com.innowise.orderservice.service.ItemCatalogService;
+import com.innowise.orderservice.service.UserClient;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BulkOrderServiceImplTest {
+
+    private static final int CHUNK_SIZE = 2;
+
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private ItemCatalogService itemCatalogService;
+    @Mock
+    private UserClient userClient;
+    @Captor
+    private ArgumentCaptor<List<Order>> written;
+
+    private final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+    private BulkOrderServiceImpl bulkOrderService;
+
+    @BeforeEach
+    void setUp() {
+        bulkOrderService = new BulkOrderServiceImpl(orderRepository, itemCatalogService, userClient,
+                new ObjectMapper(), validatorFactory.getValidator(), CHUNK_SIZE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void importOrders_shouldWriteValidOrders_andReportEveryRejectedLine() throws IOException {
+        knownItems(10L, 20L);
+        knownUsers(1L, 2L);
+        doNothing().when(orderRepository).insertAll(written.capture());
+
+        BulkOrderResultDto result = bulkOrderService.importOrders(ndjson("""
+                {"userId":1,"items":[{"itemId":10,"quantity":2},{"itemId":10,"quantity":1}]}
+                {"userId":1,"items":[
+                {"userId":2,"items":[]}
+
+                {"userId":2,"items":[{"itemId":99,"quantity":1}]}
+                {"userId":7,"items":[{"itemId":20,"quantity":1}]}
+                {"userId":2,"items":[{"itemId":20,"quantity":3}]}
+                """));
+
+        assertThat(result.received()).isEqualTo(6);
+        assertThat(result.created()).isEqualTo(2);
+        assertThat(result.failures()).extracting(BulkOrderFailureDto::line).containsExactly(2L, 3L, 5L, 6L);
+        assertThat(result.failures()).extracting(BulkOrderFailureDto::error)
+                .element(0).asString().startsWith("Malformed order");
+        assertThat(result.failures()).extracting(BulkOrderFailureDto::error)
+                .containsSubsequence("items: Order must contain at least one item", "Items not found: [99]",
+                        "User not found by ID: 7");
+
+        List<Order> orders = written.getAllValues().stream().flatMap(Collection::stream).toList();
+        assertThat(orders).extracting(Order::getUserId).containsExactly(1L, 2L);
+        assertThat(orders.get(0).getItems()).singleElement()
+                .extracting(OrderItem::getQuantity).isEqualTo(3);
+    }
+
+    @Test
+    void importOrders_shouldResolveItemsAndUsersOncePerChunk() throws IOException {
+        knownItems(10L);
+        knownUsers(1L, 2L, 3L, 4L);
+
+        BulkOrderResultDto result = bulkOrderService.importOrders(ndjson("""
+                {"userId":1,"items":[{"itemId":10,"quantity":1}]}
+                {"userId":2,"items":[{"itemId":10,"quantity":1}]}
+                {"userId":3,"items":[{"itemId":10,"quantity":1}]}
+                {"userId":4,"items":[{"itemId":10,"quantity":1}]}
+                """));
+
+        assertThat(result.created()).isEqualTo(4);
+        verify(itemCatalogService, times(2)).findAllByIds(anySet());
+        verify(userClient, times(2)).getUsersByIds(anyList());
+        verify(orderRepository, times(2)).insertAll(anyList());
+    }
+
+    @Test
+    void importOrders_shouldReportFailedChunk_andGoOnWithTheNextOne() throws IOException {
+        knownItems(10L);
+        when(userClient.getUsersByIds(anyList()))
+                .thenThrow(new ResourceNotFoundException("User service unavailable"))
+                .thenReturn(List.of(new UserDto(3L, "Name", "Surname", "user3@example.com", null, List.of())));
+
+        BulkOrderResultDto result = bulkOrderService.importOrders(ndjson("""
+                {"userId":1,"items":[{"itemId":10,"quantity":1}]}
+                {"userId":2,"items":[{"itemId":99,"quantity":1}]}
+                {"userId":3,"items":[{"itemId":10,"quantity":1}]}
+                """));
+
+        assertThat(result.created()).isEqualTo(1);
+        assertThat(result.failures()).containsExactly(
+                new BulkOrderFailureDto(1, "User service unavailable"),
+                new BulkOrderFailureDto(2, "User service unavailable"));
+    }
+
+    @Test
+    void importOrders_shouldRetryRejectedChunkOrderByOrder_andReportOnlyTheBadOne() throws IOException {
+        knownItems(10L, 20L);
+        knownUsers(1L, 2L);
+        doAnswer(invocation -> {
+            if (invocation.<List<Order>>getArgument(0).stream().anyMatch(order -> order.getUserId() == 2L)) {
+                throw new DataIntegrityViolationException("Item 20 is out of stock");
+            }
+            return null;
+        }).when(orderRepository).insertAll(written.capture());
+
+        BulkOrderResultDto result = bulkOrderService.importOrders(ndjson("""
+                {"userId":1,"items":[{"itemId":10,"quantity":1}]}
+                {"userId":2,"items":[{"itemId":20,"quantity":1}]}
+                """));
+
+        assertThat(result.created()).isEqualTo(1);
+        assertThat(result.failures()).containsExactly(new BulkOrderFailureDto(2, "Item 20 is out of stock"));
+        assertThat(written.getAllValues()).extracting(List::size).containsExactly(2, 1, 1);
+    }
+
+    private void knownItems(Long... ids) {
+        when(itemCatalogService.findAllByIds(anySet())).thenAnswer(invocation -> invocation.<Set<Long>>getArgument(0)
+                .stream()
+                .filter(Set.of(ids)::contains)
+                .collect(Collectors.toMap(Function.identity(), id -> new Item(id, "Item " + id, BigDecimal.ONE))));
+    }
+
+    private void knownUsers(Long... ids) {
+        Map<Long, UserDto> users = Set.of(ids).stream()
+                .collect(Collectors.toMap(Function.identity(),
+                        id -> new UserDto(id, "Name", "Surname", "user" + id + "@example.com", null, List.of())));
+        when(userClient.getUsersByIds(anyList())).thenAnswer(invocation -> invocation.<List<Long>>getArgument(0)
+                .stream()
+                .filter(users::containsKey)
+                .map(users::get)
+                .toList());
+    }
+
+    private static ByteArrayInputStream ndjson(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
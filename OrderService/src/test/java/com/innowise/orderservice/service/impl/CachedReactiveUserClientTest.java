@@ -0,0 +1,77 @@
+package com.innowise.orderservice.service.impl;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.innowise.orderservice.config.CacheConfig;
+import com.innowise.orderservice.model.dto.userservice.UserDto;
+import com.innowise.orderservice.service.ReactiveUserClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachedReactiveUserClientTest {
+
+    @Mock
+    private ReactiveUserClient delegate;
+
+    private CachedReactiveUserClient userClient;
+
+    private final UserDto alice = new UserDto(1L, "Alice", "Smith", "alice@example.com",
+            LocalDate.of(1990, 1, 1), List.of());
+
+    @BeforeEach
+    void setUp() {
+        AsyncCache<String, Optional<UserDto>> usersByEmail =
+                CacheConfig.userCache(100, Duration.ofMinutes(1), Duration.ofSeconds(10));
+        AsyncCache<Long, Optional<UserDto>> usersById =
+                CacheConfig.userCache(100, Duration.ofMinutes(1), Duration.ofSeconds(10));
+        userClient = new CachedReactiveUserClient(delegate, usersByEmail, usersById);
+    }
+
+    @Test
+    void getUserByEmail_shouldCancelUserCall_whenItsOnlyCallerCancels_andStartAnewLater() {
+        AtomicBoolean userCallCancelled = new AtomicBoolean();
+        when(delegate.getUserByEmail(alice.getEmail()))
+                .thenReturn(Mono.<UserDto>never().doOnCancel(() -> userCallCancelled.set(true)))
+                .thenReturn(Mono.just(alice));
+
+        userClient.getUserByEmail(alice.getEmail()).subscribe().dispose();
+
+        assertThat(userCallCancelled).isTrue();
+        assertThat(userClient.getUserByEmail(alice.getEmail()).block()).isEqualTo(alice);
+        verify(delegate, times(2)).getUserByEmail(alice.getEmail());
+    }
+
+    @Test
+    void getUserByEmail_shouldKeepUserCallRunning_whileAnotherCallerWaits() {
+        AtomicBoolean userCallCancelled = new AtomicBoolean();
+        Sinks.One<UserDto> answer = Sinks.one();
+        when(delegate.getUserByEmail(alice.getEmail()))
+                .thenReturn(answer.asMono().doOnCancel(() -> userCallCancelled.set(true)));
+
+        Disposable abandoned = userClient.getUserByEmail(alice.getEmail()).subscribe();
+        Mono<UserDto> waiting = userClient.getUserByEmail(alice.getEmail());
+        abandoned.dispose();
+        answer.tryEmitValue(alice);
+
+        assertThat(userCallCancelled).isFalse();
+        assertThat(waiting.block()).isEqualTo(alice);
+        verify(delegate, times(1)).getUserByEmail(alice.getEmail());
+    }
+}
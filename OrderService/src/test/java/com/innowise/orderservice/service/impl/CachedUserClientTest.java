@@ -0,0 +1,142 @@
+package com.innowise.orderservice.service.impl;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.innowise.orderservice.config.CacheConfig;
+import com.innowise.orderservice.exception.ResourceNotFoundException;
+import com.innowise.orderservice.exception.UserNotFoundException;
+import com.innowise.orderservice.model.dto.userservice.UserDto;
+import com.innowise.orderservice.service.UserClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachedUserClientTest {
+
+    @Mock
+    private UserClient delegate;
+
+    private AsyncCache<String, Optional<UserDto>> usersByEmail;
+    private AsyncCache<Long, Optional<UserDto>> usersById;
+    private CachedUserClient userClient;
+
+    private final UserDto alice = new UserDto(1L, "Alice", "Smith", "alice@example.com",
+            LocalDate.of(1990, 1, 1), List.of());
+    private final UserDto bob = new UserDto(2L, "Bob", "Brown", "bob@example.com",
+            LocalDate.of(1991, 2, 2), List.of());
+
+    @BeforeEach
+    void setUp() {
+        usersByEmail = CacheConfig.userCache(100, Duration.ofMinutes(1), Duration.ofSeconds(10));
+        usersById = CacheConfig.userCache(100, Duration.ofMinutes(1), Duration.ofSeconds(10));
+        userClient = new CachedUserClient(delegate, usersByEmail, usersById);
+    }
+
+    @Test
+    void getUserByEmail_shouldServeRepeatedLookupsFromCache() {
+        when(delegate.getUserByEmail(alice.getEmail())).thenReturn(alice);
+
+        userClient.getUserByEmail(alice.getEmail());
+        UserDto repeated = userClient.getUserByEmail(alice.getEmail());
+
+        assertThat(repeated).isEqualTo(alice);
+        verify(delegate, times(1)).getUserByEmail(alice.getEmail());
+        assertThat(usersByEmail.synchronous().stats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getUserByEmail_shouldAlsoCacheUserById() {
+        when(delegate.getUserByEmail(alice.getEmail())).thenReturn(alice);
+
+        userClient.getUserByEmail(alice.getEmail());
+        UserDto byId = userClient.getUserById(alice.getId());
+
+        assertThat(byId).isEqualTo(alice);
+        verify(delegate, never()).getUserById(alice.getId());
+    }
+
+    @Test
+    void getUserById_shouldCacheMissUnderEmailToo() {
+        when(delegate.getUserById(bob.getId())).thenReturn(bob);
+
+        UserDto user = userClient.getUserById(bob.getId());
+
+        assertThat(user).isEqualTo(bob);
+        assertThat(usersByEmail.synchronous().getIfPresent(bob.getEmail())).contains(bob);
+    }
+
+    @Test
+    void getUserById_shouldCacheNotFound() {
+        when(delegate.getUserById(99L)).thenThrow(new UserNotFoundException("User not found by ID: 99"));
+
+        assertThatThrownBy(() -> userClient.getUserById(99L)).isInstanceOf(UserNotFoundException.class);
+        assertThatThrownBy(() -> userClient.getUserById(99L)).isInstanceOf(UserNotFoundException.class);
+
+        verify(delegate, times(1)).getUserById(99L);
+    }
+
+    @Test
+    void getUserByEmail_shouldNotCacheUnavailableUserService() {
+        when(delegate.getUserByEmail(alice.getEmail()))
+                .thenThrow(new ResourceNotFoundException("User service unavailable"))
+                .thenReturn(alice);
+
+        assertThatThrownBy(() -> userClient.getUserByEmail(alice.getEmail()))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .isNotInstanceOf(UserNotFoundException.class);
+        UserDto retried = userClient.getUserByEmail(alice.getEmail());
+
+        assertThat(retried).isEqualTo(alice);
+        verify(delegate, times(2)).getUserByEmail(alice.getEmail());
+    }
+
+    @Test
+    void getUsersByIds_shouldSendOnlyMisses() {
+        usersById.synchronous().put(alice.getId(), Optional.of(alice));
+        when(delegate.getUsersByIds(argThat(ids -> Set.copyOf(ids).equals(Set.of(bob.getId(), 3L)))))
+                .thenReturn(List.of(bob));
+
+        List<UserDto> users = userClient.getUsersByIds(List.of(alice.getId(), bob.getId(), 3L));
+
+        assertThat(users).containsExactlyInAnyOrder(alice, bob);
+        verify(delegate, times(1)).getUsersByIds(anyList());
+        assertThat(usersById.synchronous().getIfPresent(3L)).isEmpty();
+        assertThat(usersByEmail.synchronous().getIfPresent(bob.getEmail())).contains(bob);
+    }
+
+    @Test
+    void getUsersByIds_shouldNotCallUserServiceWhenAllCached() {
+        usersById.synchronous().put(alice.getId(), Optional.of(alice));
+        usersById.synchronous().put(3L, Optional.empty());
+
+        List<UserDto> users = userClient.getUsersByIds(List.of(alice.getId(), 3L));
+
+        assertThat(users).containsExactly(alice);
+        verify(delegate, never()).getUsersByIds(anyList());
+    }
+
+    @Test
+    void getUsersByIds_shouldThrowWhenNoUserExists() {
+        when(delegate.getUsersByIds(List.of(3L))).thenThrow(new UserNotFoundException("User list is empty"));
+
+        assertThatThrownBy(() -> userClient.getUsersByIds(List.of(3L))).isInstanceOf(UserNotFoundException.class);
+        assertThat(usersById.synchronous().getIfPresent(3L)).isEmpty();
+    }
+}
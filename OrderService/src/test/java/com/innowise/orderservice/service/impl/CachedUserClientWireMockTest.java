@@ -0,0 +1,156 @@
+package com.innowise.orderservice.service.impl;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import com.innowise.orderservice.config.CacheConfig;
+import com.innowise.orderservice.config.JwtTokenProvider;
+import com.innowise.orderservice.model.dto.userservice.UserDto;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.anyRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.havingExactly;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.serverError;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CachedUserClientWireMockTest {
+
+    private static final String USERS_PATH = "/api/v1/users";
+    private static final int CALLERS = 16;
+    private static final int UPSTREAM_DELAY_MS = 300;
+
+    @RegisterExtension
+    private static final WireMockExtension wiremock = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort())
+            .build();
+
+    private CachedUserClient userClient;
+
+    @BeforeEach
+    void setUp() {
+        JwtTokenProvider jwtTokenProvider = mock(JwtTokenProvider.class);
+        when(jwtTokenProvider.getCurrentToken()).thenReturn("mock-jwt-token");
+        UserClientImpl delegate = new UserClientImpl(jwtTokenProvider,
+                "http://localhost:" + wiremock.getPort(), USERS_PATH, new RestTemplate(), 100, 4,
+                new LastKnownUserStore(100, Duration.ofHours(1)),
+                new UserServiceHedger(false, 0.95, Duration.ofMillis(20), 5, new SimpleMeterRegistry()),
+                TimeLimiterRegistry.of(TimeLimiterConfig.custom().timeoutDuration(Duration.ofSeconds(10)).build()));
+        userClient = new CachedUserClient(delegate,
+                CacheConfig.userCache(100, Duration.ofMinutes(1), Duration.ofSeconds(10)),
+                CacheConfig.userCache(100, Duration.ofMinutes(1), Duration.ofSeconds(10)));
+    }
+
+    @Test
+    void getUserByEmail_shouldShareOneUpstreamCallBetweenConcurrentCallers() throws Exception {
+        wiremock.stubFor(get(urlPathEqualTo(USERS_PATH))
+                .withQueryParam("email", havingExactly("admin@example.com"))
+                .willReturn(okJson(page(user(1, "admin@example.com"))).withFixedDelay(UPSTREAM_DELAY_MS)));
+
+        List<Future<UserDto>> results = runConcurrently(() -> userClient.getUserByEmail("admin@example.com"));
+
+        for (Future<UserDto> result : results) {
+            assertThat(result.get().getId()).isEqualTo(1L);
+        }
+        wiremock.verify(1, anyRequestedFor(urlPathEqualTo(USERS_PATH)));
+    }
+
+    @Test
+    void getUserByEmail_shouldShareUpstreamErrorBetweenConcurrentCallers() throws Exception {
+        wiremock.stubFor(get(urlPathEqualTo(USERS_PATH))
+                .willReturn(serverError().withFixedDelay(UPSTREAM_DELAY_MS)));
+
+        List<Future<UserDto>> results = runConcurrently(() -> userClient.getUserByEmail("admin@example.com"));
+
+        for (Future<UserDto> result : results) {
+            assertThat(result).failsWithin(Duration.ofSeconds(5))
+                    .withThrowableOfType(ExecutionException.class)
+                    .withCauseInstanceOf(HttpServerErrorException.class);
+        }
+        wiremock.verify(1, anyRequestedFor(urlPathEqualTo(USERS_PATH)));
+    }
+
+    @Test
+    void getUsersByIds_shouldNotRequestIdsAlreadyInFlight() throws Exception {
+        wiremock.stubFor(get(urlPathEqualTo(USERS_PATH))
+                .withQueryParam("ids", havingExactly("1", "2", "3"))
+                .willReturn(okJson(page(user(1, "a@example.com"), user(2, "b@example.com"), user(3, "c@example.com")))
+                        .withFixedDelay(UPSTREAM_DELAY_MS)));
+        wiremock.stubFor(get(urlPathEqualTo(USERS_PATH))
+                .withQueryParam("ids", havingExactly("4"))
+                .willReturn(okJson(page(user(4, "d@example.com")))));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<UserDto>> first = executor.submit(() -> userClient.getUsersByIds(List.of(1L, 2L, 3L)));
+            awaitUpstreamRequest();
+            Future<List<UserDto>> overlapping = executor.submit(() -> userClient.getUsersByIds(List.of(2L, 3L, 4L)));
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).extracting(UserDto::getId).containsExactly(1L, 2L, 3L);
+            assertThat(overlapping.get(5, TimeUnit.SECONDS)).extracting(UserDto::getId).containsExactly(2L, 3L, 4L);
+        } finally {
+            executor.shutdownNow();
+        }
+        wiremock.verify(2, getRequestedFor(urlPathEqualTo(USERS_PATH)));
+        wiremock.verify(1, getRequestedFor(urlPathEqualTo(USERS_PATH)).withQueryParam("ids", havingExactly("4")));
+    }
+
+    private <T> List<Future<T>> runConcurrently(Callable<T> call) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+        return results;
+    }
+
+    private void awaitUpstreamRequest() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (wiremock.getAllServeEvents().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static String user(long id, String email) {
+        return """
+                {"id": %d, "name": "Name", "surname": "Surname", "email": "%s", "birthDate": "1990-01-01"}
+                """.formatted(id, email);
+    }
+
+    private static String page(String... users) {
+        return "{\"content\": [" + String.join(",", users) + "]}";
+    }
+}
@@ -0,0 +1,123 @@
+package com.innowise.orderservice.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.innowise.orderservice.model.entity.Item;
+import com.innowise.orderservice.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemCatalogServiceImplTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private Cache<Long, Boolean> itemCache;
+    private ItemCatalogServiceImpl itemCatalogService;
+
+    private final Item first = new Item(1L, "First", BigDecimal.ONE);
+    private final Item second = new Item(2L, "Second", BigDecimal.TEN);
+
+    @BeforeEach
+    void setUp() {
+        itemCache = Caffeine.newBuilder().maximumSize(100).recordStats().build();
+        itemCatalogService = new ItemCatalogServiceImpl(itemRepository, itemCache);
+        lenient().when(itemRepository.getReferenceById(anyLong()))
+                .thenAnswer(invocation -> new Item(invocation.getArgument(0), null, null));
+    }
+
+    @Test
+    void findAllByIds_shouldServeRepeatedLookupsFromCache() {
+        when(itemRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(first, second));
+
+        Map<Long, Item> initial = itemCatalogService.findAllByIds(Set.of(1L, 2L));
+        Map<Long, Item> repeated = itemCatalogService.findAllByIds(Set.of(1L, 2L));
+
+        assertThat(initial).containsOnlyKeys(1L, 2L);
+        assertThat(repeated).containsOnlyKeys(1L, 2L);
+        verify(itemRepository, times(1)).findAllById(anyIterable());
+        assertThat(itemCache.stats().hitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void findAllByIds_shouldCacheOnlyTheId_andHandOutReferences() {
+        when(itemRepository.findAllById(Set.of(1L))).thenReturn(List.of(first));
+
+        Map<Long, Item> result = itemCatalogService.findAllByIds(Set.of(1L));
+
+        assertThat(itemCache.asMap()).containsOnlyKeys(1L);
+        assertThat(result.get(1L)).isNotSameAs(first).extracting(Item::getId).isEqualTo(1L);
+        verify(itemRepository).getReferenceById(1L);
+    }
+
+    @Test
+    void findAllByIds_shouldLoadOnlyMissesInOneQuery() {
+        itemCache.put(1L, true);
+        when(itemRepository.findAllById(Set.of(2L, 3L))).thenReturn(List.of(second));
+
+        Map<Long, Item> result = itemCatalogService.findAllByIds(Set.of(1L, 2L, 3L));
+
+        assertThat(result).containsOnlyKeys(1L, 2L);
+        verify(itemRepository, times(1)).findAllById(anyIterable());
+    }
+
+    @Test
+    void findAllByIds_shouldNotQueryWhenAllItemsAreCached() {
+        itemCache.put(1L, true);
+        itemCache.put(2L, true);
+
+        Map<Long, Item> result = itemCatalogService.findAllByIds(Set.of(1L, 2L));
+
+        assertThat(result).containsOnlyKeys(1L, 2L);
+        verify(itemRepository, never()).findAllById(anyIterable());
+    }
+
+    @Test
+    void save_shouldInvalidateCachedItem() {
+        itemCache.put(1L, true);
+        Item renamed = new Item(1L, "Renamed", BigDecimal.ONE);
+        when(itemRepository.save(renamed)).thenReturn(renamed);
+
+        itemCatalogService.save(renamed);
+
+        assertThat(itemCache.getIfPresent(1L)).isNull();
+    }
+
+    @Test
+    void deleteById_shouldInvalidateCachedItem() {
+        itemCache.put(2L, true);
+
+        itemCatalogService.deleteById(2L);
+
+        verify(itemRepository).deleteById(2L);
+        assertThat(itemCache.getIfPresent(2L)).isNull();
+    }
+
+    @Test
+    void evictAll_shouldMakeNextLookupReadTheDatabase() {
+        itemCache.put(1L, true);
+        when(itemRepository.findAllById(Set.of(1L))).thenReturn(List.of());
+
+        itemCatalogService.evictAll(Set.of(1L));
+
+        assertThat(itemCatalogService.findAllByIds(Set.of(1L))).isEmpty();
+    }
+}
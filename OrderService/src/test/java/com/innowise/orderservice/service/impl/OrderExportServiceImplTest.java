@@ -0,0 +1,153 @@
+package com.innowise.orderservice.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.innowise.orderservice.exception.ResourceNotFoundException;
+import com.innowise.orderservice.exception.UserNotFoundException;
+import com.innowise.orderservice.mapper.OrderMapperImpl;
+import com.innowise.orderservice.model.ExportFormat;
+import com.innowise.orderservice.model.OrderStatus;
+import com.innowise.orderservice.model.dto.OrderFilterDto;
+import com.innowise.orderservice.model.dto.userservice.UserDto;
+import com.innowise.orderservice.model.entity.Item;
+import com.innowise.orderservice.model.entity.Order;
+import com.innowise.orderservice.model.entity.OrderItem;
+import com.innowise.orderservice.repository.OrderRepository;
+import com.innowise.orderservice.service.UserClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderExportServiceImplTest {
+
+    private static final int CHUNK_SIZE = 2;
+    private static final LocalDate CREATED = LocalDate.of(2026, 10, 1);
+
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private UserClient userClient;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final Item item = new Item(10L, "Item", BigDecimal.ONE);
+    private OrderExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new OrderExportServiceImpl(orderRepository, new OrderMapperImpl(), userClient, objectMapper,
+                CHUNK_SIZE);
+    }
+
+    @Test
+    void exportOrders_shouldWriteOneJsonOrderPerLine_fetchingUsersOncePerChunk() throws IOException {
+        chunks(List.of(order(1L, 1L, 2), order(2L, 1L, 1)), List.of(order(3L, 2L, 5)));
+        when(userClient.getUsersByIds(List.of(1L))).thenReturn(List.of(user(1L, "alice@example.com")));
+        when(userClient.getUsersByIds(List.of(2L))).thenReturn(List.of(user(2L, "bob@example.com")));
+
+        List<String> lines = export(ExportFormat.NDJSON).lines().toList();
+
+        assertThat(lines).hasSize(3);
+        assertThat(objectMapper.readTree(lines.get(0)).at("/id").asLong()).isEqualTo(1L);
+        assertThat(objectMapper.readTree(lines.get(0)).at("/items/0/quantity").asInt()).isEqualTo(2);
+        assertThat(objectMapper.readTree(lines.get(2)).at("/user/email").asText()).isEqualTo("bob@example.com");
+        assertThat(objectMapper.readTree(lines.get(2)).at("/creationDate").asText()).isEqualTo("2026-10-01");
+        verify(userClient).getUsersByIds(List.of(1L));
+        verify(userClient).getUsersByIds(List.of(2L));
+    }
+
+    @Test
+    void exportOrders_shouldWriteOneCsvRowPerOrderLine_andQuoteFreeText() throws IOException {
+        Order empty = order(2L, 7L, 0);
+        empty.setItems(new ArrayList<>());
+        chunks(List.of(order(1L, 1L, 2), empty));
+        when(userClient.getUsersByIds(List.of(1L, 7L)))
+                .thenReturn(List.of(new UserDto(1L, "Anna, Maria", "O\"Neil", "anna@example.com", null, List.of())));
+
+        String csv = export(ExportFormat.CSV);
+
+        assertThat(csv).isEqualTo("""
+                order_id,status,creation_date,user_id,user_email,user_name,user_surname,item_id,quantity
+                1,NEW,2026-10-01,1,anna@example.com,"Anna, Maria","O""Neil",10,2
+                2,NEW,2026-10-01,7,,,,,
+                """);
+    }
+
+    @Test
+    void exportOrders_shouldKeepOwnerId_whenUserServiceKnowsNoUserOfTheChunk() throws IOException {
+        chunks(List.of(order(1L, 9L, 1)));
+        when(userClient.getUsersByIds(List.of(9L))).thenThrow(new UserNotFoundException("User list is empty"));
+
+        String ndjson = export(ExportFormat.NDJSON);
+
+        assertThat(objectMapper.readTree(ndjson).at("/user/id").asLong()).isEqualTo(9L);
+        assertThat(objectMapper.readTree(ndjson).at("/user/email").isNull()).isTrue();
+    }
+
+    @Test
+    void exportOrders_shouldFinishTheFile_whenUserServiceFailsMidExport() throws IOException {
+        chunks(List.of(order(1L, 1L, 1)), List.of(order(2L, 2L, 3)));
+        when(userClient.getUsersByIds(List.of(1L))).thenReturn(List.of(user(1L, "alice@example.com")));
+        when(userClient.getUsersByIds(List.of(2L)))
+                .thenThrow(new ResourceNotFoundException("User service is unavailable"));
+
+        List<String> lines = export(ExportFormat.NDJSON).lines().toList();
+
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines.get(0)).at("/user/email").asText()).isEqualTo("alice@example.com");
+        assertThat(objectMapper.readTree(lines.get(1)).at("/user/id").asLong()).isEqualTo(2L);
+        assertThat(objectMapper.readTree(lines.get(1)).at("/items/0/quantity").asInt()).isEqualTo(3);
+    }
+
+    @SafeVarargs
+    private void chunks(List<Order>... chunks) {
+        doAnswer(invocation -> {
+            Consumer<List<Order>> consumer = invocation.getArgument(2);
+            for (List<Order> chunk : chunks) {
+                consumer.accept(chunk);
+            }
+            return null;
+        }).when(orderRepository).forEachChunkWithItems(any(), eq(CHUNK_SIZE), any());
+    }
+
+    private String export(ExportFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportOrders(new OrderFilterDto(List.of(OrderStatus.NEW), null), format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private Order order(Long id, Long userId, int quantity) {
+        Order order = new Order();
+        order.setId(id);
+        order.setUserId(userId);
+        order.setStatus(OrderStatus.NEW);
+        order.setCreationDate(CREATED);
+        order.setItems(new ArrayList<>(List.of(new OrderItem(null, order, item, quantity))));
+        return order;
+    }
+
+    private static UserDto user(Long id, String email) {
+        return new UserDto(id, "Name", "Surname", email, null, List.of());
+    }
+}
@@ -0,0 +1,172 @@
+package com.innowise.orderservice.service.impl;
+
+import com.innowise.orderservice.config.RequestDeadline;
+import com.innowise.orderservice.exception.DeadlineExceededException;
+import com.innowise.orderservice.model.entity.Order;
+import com.innowise.orderservice.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class OrderGroupCommitterTest {
+
+    private static final Duration WINDOW = Duration.ofMillis(200);
+
+    @Mock
+    private OrderRepository orderRepository;
+    @Captor
+    private ArgumentCaptor<List<Order>> written;
+
+    private OrderGroupCommitter committer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (committer != null) {
+            committer.shutdown();
+        }
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void commit_shouldInsertConcurrentOrdersTogether_andHandEachCallerItsId() {
+        AtomicLong ids = new AtomicLong();
+        doAnswer(invocation -> {
+            invocation.<List<Order>>getArgument(0).forEach(order -> order.setId(ids.incrementAndGet()));
+            return null;
+        }).when(orderRepository).insertAll(written.capture());
+        committer = start(10);
+
+        List<Order> saved;
+        try (var callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<CompletableFuture<Order>> results = IntStream.range(0, 10)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> committer.commit(newOrder(i)), callers))
+                    .toList();
+            saved = results.stream().map(CompletableFuture::join).toList();
+        }
+
+        assertThat(saved).extracting(Order::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(written.getAllValues().stream().mapToInt(Collection::size).sum()).isEqualTo(10);
+        verify(orderRepository, atMost(3)).insertAll(anyList());
+    }
+
+    @Test
+    void commit_shouldFailOnlyTheBadOrder_whenItsGroupIsRejected() {
+        Order bad = newOrder(2);
+        doAnswer(invocation -> {
+            if (invocation.<List<Order>>getArgument(0).contains(bad)) {
+                throw new DataIntegrityViolationException("Unknown item");
+            }
+            return null;
+        }).when(orderRepository).insertAll(anyList());
+        committer = start(2);
+
+        CompletableFuture<Order> good = CompletableFuture.supplyAsync(() -> committer.commit(newOrder(1)));
+        CompletableFuture<Order> rejected = CompletableFuture.supplyAsync(() -> committer.commit(bad));
+
+        assertThat(good.join().getUserId()).isEqualTo(1L);
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void commit_shouldNotWriteOrder_whenRequestDeadlineHasPassed() {
+        committer = start(1);
+        RequestDeadline.set(Duration.ofNanos(1));
+
+        assertThatThrownBy(() -> committer.commit(newOrder(1))).isInstanceOf(DeadlineExceededException.class);
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void commit_shouldStopWaiting_andNeverWriteOrder_whenItIsStillQueuedAtRequestDeadline() throws Exception {
+        doAnswer(invocation -> {
+            Thread.sleep(1_000);
+            return null;
+        }).when(orderRepository).insertAll(written.capture());
+        committer = start(1);
+        CompletableFuture<Order> busy = CompletableFuture.supplyAsync(() -> committer.commit(newOrder(1)));
+        Thread.sleep(100);
+        RequestDeadline.set(Duration.ofMillis(300));
+
+        assertThatThrownBy(() -> committer.commit(newOrder(2))).isInstanceOf(DeadlineExceededException.class);
+
+        assertThat(busy.join().getUserId()).isEqualTo(1L);
+        Thread.sleep(WINDOW.toMillis());
+        assertThat(written.getAllValues()).flatExtracting(orders -> orders).extracting(Order::getUserId)
+                .containsExactly(1L);
+    }
+
+    @Test
+    void commit_shouldReturnWrittenOrder_whenItsInsertOutlastsRequestDeadline() {
+        doAnswer(invocation -> {
+            Thread.sleep(1_000);
+            return null;
+        }).when(orderRepository).insertAll(anyList());
+        committer = start(1);
+        RequestDeadline.set(Duration.ofMillis(300));
+
+        assertThat(committer.commit(newOrder(1)).getUserId()).isEqualTo(1L);
+        verify(orderRepository).insertAll(anyList());
+    }
+
+    @Test
+    void commit_shouldFailQueuedAndLaterOrders_whenWriterDies() {
+        doThrow(new StackOverflowError()).when(orderRepository).insertAll(anyList());
+        committer = start(1);
+
+        assertThatThrownBy(() -> committer.commit(newOrder(1))).isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(StackOverflowError.class);
+        assertThatThrownBy(() -> committer.commit(newOrder(2))).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void commit_shouldBeRejected_afterShutdown() throws InterruptedException {
+        committer = start(1);
+        committer.shutdown();
+
+        assertThatThrownBy(() -> committer.commit(newOrder(1))).isInstanceOf(IllegalStateException.class);
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void commit_shouldBeRejected_whenGroupCommitIsDisabled() {
+        committer = new OrderGroupCommitter(orderRepository, false, WINDOW, 10, new SimpleMeterRegistry());
+
+        assertThat(committer.isEnabled()).isFalse();
+        assertThatThrownBy(() -> committer.commit(newOrder(1))).isInstanceOf(IllegalStateException.class);
+    }
+
+    private OrderGroupCommitter start(int maxGroupSize) {
+        return new OrderGroupCommitter(orderRepository, true, WINDOW, maxGroupSize, new SimpleMeterRegistry());
+    }
+
+    private static Order newOrder(long userId) {
+        Order order = new Order();
+        order.setUserId(userId);
+        return order;
+    }
+}
@@ -1,13 +1,15 @@
 package com.innowise.orderservice.service.impl;
 
+import com.innowise.orderservice.config.CacheConfig;
 import com.innowise.orderservice.config.JwtEmailExtractor;
 import com.innowise.orderservice.exception.ResourceNotFoundException;
 import com.innowise.orderservice.mapper.OrderMapper;
 import com.innowise.orderservice.model.OrderStatus;
 import com.innowise.orderservice.model.dto.userservice.UserDto;
 import com.innowise.orderservice.model.entity.Order;
-import com.innowise.orderservice.repository.ItemRepository;
 import com.innowise.orderservice.repository.OrderRepository;
+import com.innowise.orderservice.service.ItemCatalogService;
+import com.innowise.orderservice.service.ReactiveUserClient;
 import com.innowise.orderservice.service.UserClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,11 +18,16 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.Spy;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionOperations;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -31,13 +38,19 @@ class OrderServiceImplTest {
     @Mock
     private OrderRepository orderRepository;
     @Mock
-    private ItemRepository itemRepository;
+    private ItemCatalogService itemCatalogService;
     @Mock
     private OrderMapper orderMapper;
     @Mock
     private UserClient userClient;
     @Mock
+    private ReactiveUserClient reactiveUserClient;
+    @Mock
     private JwtEmailExtractor jwtEmailExtractor;
+    @Spy
+    private TransactionOperations readOnlyTransaction = TransactionOperations.withoutTransaction();
+    @Mock
+    private OrderGroupCommitter orderGroupCommitter;
 
     @Spy
     @InjectMocks
@@ -67,13 +80,26 @@ class OrderServiceImplTest {
     }
 
 
+    /**
+     * Goes through the cached client, which shares the user call with other callers of the same email.
+     */
     @Test
-    void getOrderById_shouldThrowIfNotFound() {
+    void getOrderById_shouldThrowIfNotFound_andCancelUserCall() {
+        AtomicBoolean userCallCancelled = new AtomicBoolean();
         when(orderRepository.findByIdWithItems(999L)).thenReturn(Optional.empty());
-
-        assertThatThrownBy(() -> orderService.getOrderById(999L))
+        when(jwtEmailExtractor.extractEmail()).thenReturn(user.getEmail());
+        when(reactiveUserClient.getUserByEmail(user.getEmail()))
+                .thenReturn(Mono.<UserDto>never().doOnCancel(() -> userCallCancelled.set(true)));
+        OrderServiceImpl cachedOrderService = new OrderServiceImpl(orderRepository, itemCatalogService, orderMapper,
+                userClient, new CachedReactiveUserClient(reactiveUserClient,
+                        CacheConfig.userCache(100, Duration.ofMinutes(1), Duration.ofSeconds(10)),
+                        CacheConfig.userCache(100, Duration.ofMinutes(1), Duration.ofSeconds(10))),
+                jwtEmailExtractor, readOnlyTransaction, orderGroupCommitter);
+
+        assertThatThrownBy(() -> cachedOrderService.getOrderById(999L, false).block())
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Order not found");
+        assertThat(userCallCancelled).isTrue();
     }
 
     @Test
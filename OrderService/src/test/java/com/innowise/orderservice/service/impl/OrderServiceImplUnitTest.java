@@ -2,34 +2,73 @@ package com.innowise.orderservice.service.impl;
 
 
 import com.innowise.orderservice.config.JwtEmailExtractor;
+import com.innowise.orderservice.config.JwtPrincipal;
+import com.innowise.orderservice.config.RequestDeadline;
+import com.innowise.orderservice.exception.DeadlineExceededException;
 import com.innowise.orderservice.exception.ResourceNotFoundException;
 import com.innowise.orderservice.mapper.OrderMapper;
 import com.innowise.orderservice.model.OrderStatus;
 import com.innowise.orderservice.model.dto.CreateOrderItemDto;
+import com.innowise.orderservice.model.dto.CursorPageDto;
+import com.innowise.orderservice.model.dto.OrderCursor;
 import com.innowise.orderservice.model.dto.OrderDto;
+import com.innowise.orderservice.model.dto.OrderFilterDto;
+import com.innowise.orderservice.model.dto.OrderView;
 import com.innowise.orderservice.model.dto.userservice.UserDto;
 import com.innowise.orderservice.model.entity.Item;
 import com.innowise.orderservice.model.entity.Order;
 import com.innowise.orderservice.model.entity.OrderItem;
-import com.innowise.orderservice.repository.ItemRepository;
 import com.innowise.orderservice.repository.OrderRepository;
+import com.innowise.orderservice.service.ItemCatalogService;
+import com.innowise.orderservice.service.ReactiveUserClient;
 import com.innowise.orderservice.service.UserClient;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionOperations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,13 +80,21 @@ class OrderServiceImplUnitTest {
     @Mock
     private OrderRepository orderRepository;
     @Mock
-    private ItemRepository itemRepository;
+    private ItemCatalogService itemCatalogService;
     @Mock
     private OrderMapper orderMapper;
     @Mock
     private UserClient userClient;
     @Mock
+    private ReactiveUserClient reactiveUserClient;
+    @Mock
     private JwtEmailExtractor jwtEmailExtractor;
+    @Spy
+    private TransactionOperations readOnlyTransaction = TransactionOperations.withoutTransaction();
+    @Mock
+    private OrderGroupCommitter orderGroupCommitter;
+
+    private static final long SLOW_CALL_MS = 300;
 
     private final Long userId = 1L;
     private final Long orderId = 10L;
@@ -85,17 +132,177 @@ class OrderServiceImplUnitTest {
         when(orderMapper.map(inputDto)).thenReturn(mappedOrder);
         when(jwtEmailExtractor.extractEmail()).thenReturn(email);
         when(userClient.getUserByEmail(email)).thenReturn(user);
-        when(itemRepository.findById(100L)).thenReturn(Optional.of(item));
+        when(itemCatalogService.findAllByIds(Set.of(100L))).thenReturn(Map.of(100L, item));
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
         when(orderMapper.map(savedOrder)).thenReturn(mappedSavedDto);
 
-        OrderDto result = orderService.createOrder(inputDto);
+        OrderDto result = orderService.createOrder(inputDto, false);
 
         assertThat(result.id()).isEqualTo(orderId);
         assertThat(result.user()).isEqualTo(user);
         verify(orderRepository).save(any(Order.class));
     }
 
+    @Test
+    void createOrder_shouldHandOrderToGroupCommit_whenEnabled() {
+        OrderDto inputDto = new OrderDto(null, null, null, List.of(), null);
+        Order mappedOrder = new Order();
+        mappedOrder.setItems(new ArrayList<>());
+
+        when(orderMapper.map(inputDto)).thenReturn(mappedOrder);
+        when(jwtEmailExtractor.extractClaimsPrincipal())
+                .thenReturn(Optional.of(new JwtPrincipal(email, 42L, "Alice", "Smith")));
+        when(itemCatalogService.findAllByIds(Set.of())).thenReturn(Map.of());
+        when(orderGroupCommitter.isEnabled()).thenReturn(true);
+        when(orderGroupCommitter.commit(mappedOrder)).thenAnswer(invocation -> {
+            mappedOrder.setId(orderId);
+            return mappedOrder;
+        });
+        when(orderMapper.map(mappedOrder)).thenReturn(new OrderDto(orderId, OrderStatus.NEW, LocalDate.now(), List.of(), null));
+
+        OrderDto result = orderService.createOrder(inputDto, false);
+
+        assertThat(result.id()).isEqualTo(orderId);
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20, 200})
+    void createOrder_shouldResolveAllItemsInSingleLookup(int lineCount) {
+        List<OrderItem> lines = LongStream.rangeClosed(1, lineCount)
+                .mapToObj(itemId -> OrderItem.builder()
+                        .item(Item.builder().id(itemId).build())
+                        .quantity(1)
+                        .build())
+                .collect(Collectors.toCollection(ArrayList::new));
+        OrderDto inputDto = new OrderDto(null, null, null, List.of(), null);
+        Order mappedOrder = new Order();
+        mappedOrder.setItems(lines);
+
+        when(orderMapper.map(inputDto)).thenReturn(mappedOrder);
+        when(jwtEmailExtractor.extractEmail()).thenReturn(email);
+        when(userClient.getUserByEmail(email)).thenReturn(user);
+        when(itemCatalogService.findAllByIds(anySet())).thenAnswer(invocation -> {
+            Set<Long> ids = invocation.getArgument(0);
+            return ids.stream().collect(Collectors.toMap(Function.identity(),
+                    itemId -> new Item(itemId, "Item " + itemId, BigDecimal.ONE)));
+        });
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderMapper.map(any(Order.class))).thenReturn(new OrderDto(orderId, OrderStatus.NEW, LocalDate.now(), List.of(), null));
+
+        orderService.createOrder(inputDto, false);
+
+        verify(itemCatalogService, times(1)).findAllByIds(argThat(ids -> ids.size() == lineCount));
+    }
+
+    @Test
+    void createOrder_shouldReportAllMissingItemsAtOnce() {
+        OrderDto inputDto = new OrderDto(null, null, null, List.of(), null);
+        Order mappedOrder = new Order();
+        mappedOrder.setItems(List.of(
+                OrderItem.builder().item(Item.builder().id(1L).build()).quantity(1).build(),
+                OrderItem.builder().item(Item.builder().id(2L).build()).quantity(1).build(),
+                OrderItem.builder().item(Item.builder().id(3L).build()).quantity(1).build()));
+
+        when(orderMapper.map(inputDto)).thenReturn(mappedOrder);
+        when(jwtEmailExtractor.extractEmail()).thenReturn(email);
+        when(userClient.getUserByEmail(email)).thenReturn(user);
+        when(itemCatalogService.findAllByIds(Set.of(1L, 2L, 3L)))
+                .thenReturn(Map.of(2L, new Item(2L, "Item", BigDecimal.TEN)));
+
+        assertThatThrownBy(() -> orderService.createOrder(inputDto, false))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Items not found: [1, 3]");
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    void createOrder_shouldReportItemNotFound_whenCachedItemWasDeletedMeanwhile() {
+        OrderDto inputDto = new OrderDto(null, null, null, List.of(), null);
+        Order mappedOrder = new Order();
+        mappedOrder.setItems(List.of(OrderItem.builder().item(Item.builder().id(7L).build()).quantity(1).build()));
+
+        when(orderMapper.map(inputDto)).thenReturn(mappedOrder);
+        when(jwtEmailExtractor.extractEmail()).thenReturn(email);
+        when(userClient.getUserByEmail(email)).thenReturn(user);
+        when(itemCatalogService.findAllByIds(Set.of(7L)))
+                .thenReturn(Map.of(7L, new Item(7L, null, null)))
+                .thenReturn(Map.of());
+        when(orderRepository.save(any(Order.class)))
+                .thenThrow(new DataIntegrityViolationException("violates foreign key constraint"));
+
+        assertThatThrownBy(() -> orderService.createOrder(inputDto, false))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Items not found: [7]");
+        verify(itemCatalogService).evictAll(Set.of(7L));
+    }
+
+    @Test
+    void createOrder_shouldCollapseDuplicateItems() {
+        OrderDto inputDto = new OrderDto(null, null, null, List.of(), null);
+        Item item = new Item(100L, "Item", BigDecimal.TEN);
+        Order mappedOrder = new Order();
+        mappedOrder.setItems(List.of(
+                OrderItem.builder().item(Item.builder().id(100L).build()).quantity(2).build(),
+                OrderItem.builder().item(Item.builder().id(100L).build()).quantity(3).build()));
+
+        when(orderMapper.map(inputDto)).thenReturn(mappedOrder);
+        when(jwtEmailExtractor.extractEmail()).thenReturn(email);
+        when(userClient.getUserByEmail(email)).thenReturn(user);
+        when(itemCatalogService.findAllByIds(Set.of(100L))).thenReturn(Map.of(100L, item));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderMapper.map(any(Order.class))).thenReturn(new OrderDto(orderId, OrderStatus.NEW, LocalDate.now(), List.of(), null));
+
+        orderService.createOrder(inputDto, false);
+
+        ArgumentCaptor<Order> saved = ArgumentCaptor.forClass(Order.class);
+        verify(orderRepository).save(saved.capture());
+        assertThat(saved.getValue().getItems().size()).isEqualTo(1);
+        assertThat(saved.getValue().getItems().get(0).getQuantity()).isEqualTo(5);
+        assertThat(saved.getValue().getItems().get(0).getItem()).isEqualTo(item);
+    }
+
+    @Test
+    void createOrder_shouldTakeUserIdFromClaims_withoutCallingUserService() {
+        OrderDto inputDto = new OrderDto(null, null, null, List.of(), null);
+        Order mappedOrder = new Order();
+        mappedOrder.setItems(new ArrayList<>());
+
+        when(orderMapper.map(inputDto)).thenReturn(mappedOrder);
+        when(jwtEmailExtractor.extractClaimsPrincipal())
+                .thenReturn(Optional.of(new JwtPrincipal(email, 42L, "Alice", "Smith")));
+        when(itemCatalogService.findAllByIds(Set.of())).thenReturn(Map.of());
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderMapper.map(any(Order.class))).thenReturn(new OrderDto(orderId, OrderStatus.NEW, LocalDate.now(), List.of(), null));
+
+        OrderDto result = orderService.createOrder(inputDto, false);
+
+        ArgumentCaptor<Order> saved = ArgumentCaptor.forClass(Order.class);
+        verify(orderRepository).save(saved.capture());
+        assertThat(saved.getValue().getUserId()).isEqualTo(42L);
+        assertThat(result.user().getEmail()).isEqualTo(email);
+        assertThat(result.user().getName()).isEqualTo("Alice");
+        verifyNoInteractions(userClient);
+    }
+
+    @Test
+    void getOrderById_shouldFetchFullUser_whenEnrichmentRequested() {
+        Order order = new Order();
+        order.setId(orderId);
+        order.setUserId(userId);
+
+        when(orderRepository.findByIdWithItems(orderId)).thenReturn(Optional.of(order));
+        when(jwtEmailExtractor.extractClaimsPrincipal())
+                .thenReturn(Optional.of(new JwtPrincipal(email, userId, null, null)));
+        when(jwtEmailExtractor.extractEmail()).thenReturn(email);
+        when(reactiveUserClient.getUserByEmail(email)).thenReturn(Mono.just(user));
+        when(orderMapper.map(order)).thenReturn(new OrderDto(orderId, OrderStatus.NEW, LocalDate.now(), List.of(), null));
+
+        assertThat(orderService.getOrderById(orderId, false).block().user().getBirthDate()).isNull();
+        assertThat(orderService.getOrderById(orderId, true).block().user()).isEqualTo(user);
+        verify(reactiveUserClient, times(1)).getUserByEmail(email);
+    }
 
     @Test
     void getOrderById_shouldReturnMappedOrder() {
@@ -107,15 +314,140 @@ class OrderServiceImplUnitTest {
 
         when(orderRepository.findByIdWithItems(orderId)).thenReturn(Optional.of(order));
         when(jwtEmailExtractor.extractEmail()).thenReturn(email);
-        when(userClient.getUserByEmail(email)).thenReturn(user);
+        when(reactiveUserClient.getUserByEmail(email)).thenReturn(Mono.just(user));
         when(orderMapper.map(order)).thenReturn(mappedDto);
 
-        OrderDto result = orderService.getOrderById(orderId);
+        OrderDto result = orderService.getOrderById(orderId, false).block();
 
         assertThat(result.id()).isEqualTo(orderId);
         assertThat(result.user()).isEqualTo(user);
     }
 
+    @Test
+    void getOrderById_shouldLoadOrderWhileUserIsFetched() {
+        Order order = new Order();
+        order.setId(orderId);
+
+        when(orderRepository.findByIdWithItems(orderId)).thenAnswer(invocation -> {
+            TimeUnit.MILLISECONDS.sleep(SLOW_CALL_MS);
+            return Optional.of(order);
+        });
+        when(jwtEmailExtractor.extractEmail()).thenReturn(email);
+        when(reactiveUserClient.getUserByEmail(email))
+                .thenReturn(Mono.just(user).delayElement(Duration.ofMillis(SLOW_CALL_MS)));
+        when(orderMapper.map(order)).thenReturn(new OrderDto(orderId, OrderStatus.NEW, LocalDate.now(), List.of(), null));
+
+        long started = System.nanoTime();
+        OrderDto result = orderService.getOrderById(orderId, false).block();
+
+        assertThat(result.user()).isEqualTo(user);
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofMillis(2 * SLOW_CALL_MS));
+    }
+
+    @Test
+    void getOrderById_shouldFailAtRequestDeadline_andCarryItToOrderLoad() {
+        Order order = new Order();
+        order.setId(orderId);
+        AtomicReference<Optional<Duration>> loadDeadline = new AtomicReference<>();
+
+        when(orderRepository.findByIdWithItems(orderId)).thenAnswer(invocation -> {
+            loadDeadline.set(RequestDeadline.remaining());
+            return Optional.of(order);
+        });
+        when(jwtEmailExtractor.extractEmail()).thenReturn(email);
+        when(reactiveUserClient.getUserByEmail(email))
+                .thenReturn(Mono.just(user).delayElement(Duration.ofSeconds(5)));
+        when(orderMapper.map(order)).thenReturn(new OrderDto(orderId, OrderStatus.NEW, LocalDate.now(), List.of(), null));
+
+        RequestDeadline.set(Duration.ofMillis(SLOW_CALL_MS));
+        Mono<OrderDto> result;
+        try {
+            result = orderService.getOrderById(orderId, false);
+        } finally {
+            RequestDeadline.clear();
+        }
+
+        assertThatThrownBy(result::block).isInstanceOf(DeadlineExceededException.class);
+        assertThat(loadDeadline.get()).isPresent();
+    }
+
+    @Test
+    void updateOrder_shouldFetchUserUnderCallersSecurityContext() {
+        Order existing = new Order();
+        existing.setId(orderId);
+        existing.setStatus(OrderStatus.NEW);
+        existing.setItems(new ArrayList<>());
+        OrderDto updatedDto = new OrderDto(orderId, OrderStatus.PROCESSING, LocalDate.now(), List.of(), null);
+        Authentication caller = new UsernamePasswordAuthenticationToken(email, "mock-jwt-token");
+        AtomicReference<Authentication> userCallAuthentication = new AtomicReference<>();
+
+        when(orderRepository.findByIdWithItems(orderId)).thenReturn(Optional.of(existing));
+        when(itemCatalogService.findAllByIds(Set.of())).thenReturn(Map.of());
+        when(orderRepository.save(existing)).thenReturn(existing);
+        when(orderMapper.map(existing)).thenReturn(updatedDto);
+        when(jwtEmailExtractor.extractEmail()).thenReturn(email);
+        when(userClient.getUserByEmail(email)).thenAnswer(invocation -> {
+            userCallAuthentication.set(SecurityContextHolder.getContext().getAuthentication());
+            return user;
+        });
+
+        SecurityContextHolder.getContext().setAuthentication(caller);
+        try {
+            assertThat(orderService.updateOrder(orderId, updatedDto, false).user()).isEqualTo(user);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        assertThat(userCallAuthentication.get()).isSameAs(caller);
+    }
+
+    @Test
+    void updateOrder_shouldCancelUserCall_whenOrderIsMissing() {
+        CountDownLatch userCallStarted = new CountDownLatch(1);
+        AtomicBoolean userCallInterrupted = new AtomicBoolean();
+
+        when(orderRepository.findByIdWithItems(orderId)).thenAnswer(invocation -> {
+            userCallStarted.await(1, TimeUnit.SECONDS);
+            return Optional.empty();
+        });
+        when(jwtEmailExtractor.extractEmail()).thenReturn(email);
+        when(userClient.getUserByEmail(email)).thenAnswer(invocation -> {
+            userCallStarted.countDown();
+            try {
+                TimeUnit.SECONDS.sleep(10);
+                return user;
+            } catch (InterruptedException ex) {
+                userCallInterrupted.set(true);
+                throw ex;
+            }
+        });
+
+        OrderDto updatedDto = new OrderDto(orderId, OrderStatus.PROCESSING, LocalDate.now(), List.of(), null);
+        assertThatThrownBy(() -> orderService.updateOrder(orderId, updatedDto, false))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Order not found");
+        assertThat(userCallInterrupted.get()).isTrue();
+    }
+
+    @Test
+    void updateOrder_shouldFail_whenUserCallFails() {
+        Order existing = new Order();
+        existing.setId(orderId);
+        existing.setStatus(OrderStatus.NEW);
+        existing.setItems(new ArrayList<>());
+        OrderDto updatedDto = new OrderDto(orderId, OrderStatus.PROCESSING, LocalDate.now(), List.of(), null);
+
+        when(orderRepository.findByIdWithItems(orderId)).thenReturn(Optional.of(existing));
+        when(itemCatalogService.findAllByIds(Set.of())).thenReturn(Map.of());
+        when(orderRepository.save(existing)).thenReturn(existing);
+        when(orderMapper.map(existing)).thenReturn(updatedDto);
+        when(jwtEmailExtractor.extractEmail()).thenReturn(email);
+        when(userClient.getUserByEmail(email)).thenThrow(new ResourceNotFoundException("User service unavailable"));
+
+        assertThatThrownBy(() -> orderService.updateOrder(orderId, updatedDto, false))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("User service unavailable");
+    }
+
 
     @Test
     void updateOrder_shouldMergeItemsAndReturnUpdatedDto() {
@@ -142,14 +474,14 @@ class OrderServiceImplUnitTest {
         OrderDto mappedSavedDto = new OrderDto(orderId, OrderStatus.PROCESSING, LocalDate.now(), List.of(), null);
 
         when(orderRepository.findByIdWithItems(orderId)).thenReturn(Optional.of(existing));
-        when(itemRepository.findById(100L)).thenReturn(Optional.of(item));
+        when(itemCatalogService.findAllByIds(Set.of(100L))).thenReturn(Map.of(100L, item));
         when(orderMapper.map(itemDto)).thenReturn(mappedItem);
         when(orderRepository.save(existing)).thenReturn(saved);
         when(jwtEmailExtractor.extractEmail()).thenReturn(email);
         when(userClient.getUserByEmail(email)).thenReturn(user);
         when(orderMapper.map(saved)).thenReturn(mappedSavedDto);
 
-        OrderDto result = orderService.updateOrder(orderId, updatedDto);
+        OrderDto result = orderService.updateOrder(orderId, updatedDto, false);
 
         assertThat(result.id()).isEqualTo(orderId);
         assertThat(result.status()).isEqualTo(OrderStatus.PROCESSING);
@@ -174,7 +506,59 @@ class OrderServiceImplUnitTest {
     @Test
     void validateStatusTransition_shouldThrowIfInvalid() {
         assertThatThrownBy(() ->
-                orderService.updateOrder(orderId, new OrderDto(orderId, OrderStatus.NEW, LocalDate.now(), List.of(), null))
+                orderService.updateOrder(orderId, new OrderDto(orderId, OrderStatus.NEW, LocalDate.now(), List.of(), null), false)
         ).isInstanceOf(ResourceNotFoundException.class);
     }
-}
\ No newline at end of file
+
+
+    @Test
+    void searchOrders_shouldEnrichProjectedPage_withoutMappingEntities() {
+        PageRequest pageable = PageRequest.of(0, 2);
+        when(orderRepository.findViewPage(any(), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(viewOf(2L, LocalDate.of(2025, 10, 2))), pageable, 1));
+        when(reactiveUserClient.getUsersByIds(List.of(userId))).thenReturn(Flux.just(user));
+
+        Page<OrderDto> result = orderService.searchOrders(new OrderFilterDto(null, null), pageable).block();
+
+        assertThat(result.getTotalElements()).isEqualTo(1);
+        assertThat(result.getContent().get(0).items().get(0).getItemId()).isEqualTo(100L);
+        assertThat(result.getContent().get(0).user()).isEqualTo(user);
+        verifyNoInteractions(orderMapper);
+    }
+
+    @Test
+    void searchOrdersByCursor_shouldReturnNextCursorWhenMoreOrdersExist() {
+        OrderView newest = viewOf(3L, LocalDate.of(2025, 10, 3));
+        OrderView older = viewOf(2L, LocalDate.of(2025, 10, 2));
+        OrderView lookahead = viewOf(1L, LocalDate.of(2025, 10, 1));
+
+        when(orderRepository.findViews(any(), any(Sort.class), eq(3)))
+                .thenReturn(List.of(newest, older, lookahead));
+        when(reactiveUserClient.getUsersByIds(List.of(userId))).thenReturn(Flux.just(user));
+
+        CursorPageDto<OrderDto> result = orderService.searchOrders(new OrderFilterDto(null, null), null, 2).block();
+
+        assertThat(result.content().size()).isEqualTo(2);
+        assertThat(result.content().get(1).id()).isEqualTo(2L);
+        assertThat(result.content().get(1).user()).isEqualTo(user);
+        assertThat(OrderCursor.decode(result.nextCursor())).isEqualTo(new OrderCursor(older.creationDate(), 2L));
+    }
+
+    @Test
+    void searchOrdersByCursor_shouldReturnNoCursorOnLastSlice() {
+        OrderView last = viewOf(1L, LocalDate.of(2025, 10, 1));
+        String after = new OrderCursor(LocalDate.of(2025, 10, 2), 2L).encode();
+
+        when(orderRepository.findViews(any(), any(Sort.class), eq(11))).thenReturn(List.of(last));
+        when(reactiveUserClient.getUsersByIds(List.of(userId))).thenReturn(Flux.just(user));
+
+        CursorPageDto<OrderDto> result = orderService.searchOrders(new OrderFilterDto(null, null), after, 10).block();
+
+        assertThat(result.content().size()).isEqualTo(1);
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    private OrderView viewOf(Long id, LocalDate creationDate) {
+        return new OrderView(id, userId, OrderStatus.NEW, creationDate, List.of(new CreateOrderItemDto(100L, 1)));
+    }
+}
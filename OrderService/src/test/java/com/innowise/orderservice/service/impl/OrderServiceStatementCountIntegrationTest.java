@@ -0,0 +1,150 @@
+package com.innowise.orderservice.service.impl;
+
+import com.innowise.orderservice.config.JwtPrincipal;
+import com.innowise.orderservice.model.OrderStatus;
+import com.innowise.orderservice.model.dto.CreateOrderItemDto;
+import com.innowise.orderservice.model.dto.OrderDto;
+import com.innowise.orderservice.model.entity.Item;
+import com.innowise.orderservice.repository.ItemRepository;
+import com.innowise.orderservice.repository.OrderRepository;
+import com.innowise.orderservice.service.OrderService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @ClassName OrderServiceStatementCountIntegrationTest
+ * @Description Counts the SQL statements createOrder and updateOrder send to PostgreSQL
+ * for orders of different sizes, so that a per-line item lookup cannot creep back in.
+ * @Author dshparko
+ * @Date 18.10.2026 16:20
+ * @Version 1.0
+ */
+@Testcontainers
+@ActiveProfiles("test")
+@SpringBootTest
+class OrderServiceStatementCountIntegrationTest {
+    /**
+     * Upper bound for one call whatever its size: the order and item selects,
+     * the sequence calls, and one batched statement per table and operation.
+     */
+    private static final int MAX_STATEMENTS_PER_CALL = 8;
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16");
+
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector",
+                StatementRecorder.class::getName);
+        registry.add("user-service.url", () -> "http://localhost:1");
+        registry.add("user-service.path", () -> "/api/v1/users");
+        registry.add("jwt.secret", () -> "dGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQ=");
+    }
+
+    /**
+     * Records every statement Hibernate prepares; instantiated by Hibernate by class name.
+     */
+    public static class StatementRecorder implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @BeforeEach
+    void setup() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new JwtPrincipal("alice@example.com", 1L, "Darya", "Shparko"),
+                "mocked-jwt-token",
+                AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    @AfterEach
+    void cleanup() {
+        orderRepository.deleteAll();
+        itemRepository.deleteAll();
+        SecurityContextHolder.clearContext();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20, 40})
+    void createOrder_shouldLoadAllItemsInOneSelect_whateverTheNumberOfLines(int lines) {
+        List<Item> items = saveItems(lines);
+        statements.clear();
+
+        orderService.createOrder(new OrderDto(null, null, null, linesOf(items, 1), null), false);
+
+        assertThat(countMatching(" from items ")).isEqualTo(1);
+        assertThat(statements).hasSizeLessThanOrEqualTo(MAX_STATEMENTS_PER_CALL);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20, 40})
+    void updateOrder_shouldLoadAllItemsInOneSelect_whateverTheNumberOfLines(int lines) {
+        List<Item> items = saveItems(2 * lines);
+        OrderDto created = orderService.createOrder(
+                new OrderDto(null, null, null, linesOf(items.subList(0, lines), 1), null), false);
+        statements.clear();
+
+        orderService.updateOrder(created.id(), new OrderDto(null, OrderStatus.PROCESSING, null,
+                linesOf(items.subList(lines, 2 * lines), 2), null), false);
+
+        assertThat(countMatching(" from items ")).isEqualTo(1);
+        assertThat(countMatching(" from orders ")).isEqualTo(1);
+        assertThat(statements).hasSizeLessThanOrEqualTo(MAX_STATEMENTS_PER_CALL);
+    }
+
+    private List<Item> saveItems(int count) {
+        return itemRepository.saveAll(IntStream.range(0, count)
+                .mapToObj(i -> new Item(null, "Item " + i, BigDecimal.TEN))
+                .toList());
+    }
+
+    private static List<CreateOrderItemDto> linesOf(List<Item> items, int quantity) {
+        return items.stream()
+                .map(item -> new CreateOrderItemDto(item.getId(), quantity))
+                .toList();
+    }
+
+    private static long countMatching(String fragment) {
+        return statements.stream()
+                .filter(sql -> sql.toLowerCase().contains(fragment))
+                .count();
+    }
+}
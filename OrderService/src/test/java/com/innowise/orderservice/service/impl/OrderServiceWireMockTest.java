@@ -63,7 +63,7 @@ class OrderServiceWireMockTest {
         registry.add("spring.datasource.password", postgres::getPassword);
         registry.add("user-service.url", () -> "http://localhost:" + wiremock.getPort());
         registry.add("user-service.path", () -> "/api/v1/users");
-        registry.add("jwt.secret", () -> "test-secret");
+        registry.add("jwt.secret", () -> "dGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQ=");
     }
 
     @MockitoBean
@@ -120,7 +120,7 @@ class OrderServiceWireMockTest {
         CreateOrderItemDto itemDto = new CreateOrderItemDto(testItemId, 2);
         OrderDto createDto = new OrderDto(null, OrderStatus.NEW, LocalDate.now(), List.of(itemDto), null);
 
-        OrderDto result = orderService.createOrder(createDto);
+        OrderDto result = orderService.createOrder(createDto, false);
 
         assertThat(result).isNotNull();
         assertThat(result.user()).isNotNull();
@@ -146,7 +146,7 @@ class OrderServiceWireMockTest {
 
         Order saved = orderRepository.save(order);
 
-        OrderDto result = orderService.getOrderById(saved.getId());
+        OrderDto result = orderService.getOrderById(saved.getId(), false).block();
 
         assertThat(result).isNotNull();
         assertThat(result.id()).isEqualTo(saved.getId());
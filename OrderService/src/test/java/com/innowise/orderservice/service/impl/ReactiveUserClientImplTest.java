@@ -0,0 +1,219 @@
+package com.innowise.orderservice.service.impl;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import com.innowise.orderservice.config.JwtTokenProvider;
+import com.innowise.orderservice.exception.ResourceNotFoundException;
+import com.innowise.orderservice.exception.UserNotFoundException;
+import com.innowise.orderservice.model.dto.userservice.UserDto;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.absent;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.havingExactly;
+import static com.github.tomakehurst.wiremock.client.WireMock.notFound;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.serverError;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReactiveUserClientImplTest {
+
+    private static final String USERS_PATH = "/api/v1/users";
+
+    @RegisterExtension
+    private static final WireMockExtension wiremock = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort())
+            .build();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReactiveUserClientImpl userClient;
+
+    @BeforeEach
+    void setUp() {
+        userClient = client(hedger(false, 0));
+    }
+
+    @Test
+    void getUserByEmail_shouldEmitFirstUserOfPage() {
+        wiremock.stubFor(get(urlPathEqualTo(USERS_PATH))
+                .withQueryParam("email", havingExactly("admin@example.com"))
+                .willReturn(okJson(page(user(1, "admin@example.com")))));
+
+        StepVerifier.create(userClient.getUserByEmail("admin@example.com"))
+                .expectNextMatches(user -> user.getId() == 1L)
+                .verifyComplete();
+        wiremock.verify(getRequestedFor(urlPathEqualTo(USERS_PATH))
+                .withHeader("Authorization", equalTo("Bearer mock-jwt-token")));
+    }
+
+    @Test
+    void getUserByEmail_shouldFailWithUserNotFound_whenPageIsEmpty() {
+        wiremock.stubFor(get(urlPathEqualTo(USERS_PATH)).willReturn(okJson(page())));
+
+        StepVerifier.create(userClient.getUserByEmail("missing@example.com"))
+                .verifyError(UserNotFoundException.class);
+    }
+
+    @Test
+    void getUserById_shouldFailWithUserNotFound_whenUserServiceAnswers404() {
+        wiremock.stubFor(get(urlPathEqualTo(USERS_PATH + "/7")).willReturn(notFound()));
+
+        StepVerifier.create(userClient.getUserById(7L))
+                .verifyError(UserNotFoundException.class);
+    }
+
+    @Test
+    void getUserById_shouldFailWithResourceNotFound_whenUserServiceIsDown() {
+        wiremock.stubFor(get(urlPathEqualTo(USERS_PATH + "/7")).willReturn(serverError()));
+
+        StepVerifier.create(userClient.getUserById(7L))
+                .expectErrorSatisfies(ex -> assertThat(ex)
+                        .isExactlyInstanceOf(ResourceNotFoundException.class)
+                        .hasMessageContaining("User service unavailable"))
+                .verify();
+    }
+
+    @Test
+    void getUserById_shouldServeLastKnownUserAsStale_whenUserServiceGoesDown() {
+        wiremock.stubFor(get(urlPathEqualTo(USERS_PATH + "/7")).willReturn(okJson(user(7, "g@example.com"))));
+        StepVerifier.create(userClient.getUserById(7L))
+                .expectNextMatches(user -> !user.isStale())
+                .verifyComplete();
+
+        wiremock.stubFor(get(urlPathEqualTo(USERS_PATH + "/7")).willReturn(serverError()));
+
+        StepVerifier.create(userClient.getUserById(7L))
+                .expectNextMatches(user -> user.getId() == 7L && user.isStale())
+                .verifyComplete();
+    }
+
+    @Test
+    void getUsersByIds_shouldServeLastKnownUsersAsStale_whenUserServiceGoesDown() {
+        wiremock.stubFor(get(urlPathEqualTo(USERS_PATH))
+                .willReturn(okJson(page(user(1, "a@example.com"), user(2, "b@example.com")))));
+        StepVerifier.create(userClient.getUsersByIds(List.of(1L, 2L)))
+                .expectNextCount(2)
+                .verifyComplete();
+
+        wiremock.stubFor(get(urlPathEqualTo(USERS_PATH)).willReturn(serverError()));
+
+        StepVerifier.create(userClient.getUsersByIds(List.of(1L, 2L, 3L)))
+                .expectNextMatches(UserDto::isStale)
+                .expectNextMatches(UserDto::isStale)
+                .verifyComplete();
+    }
+
+    @Test
+    void getUsersByIds_shouldEmitEveryUserOfPage() {
+        wiremock.stubFor(get(urlPathEqualTo(USERS_PATH))
+                .withQueryParam("ids", havingExactly("1", "2"))
+                .willReturn(okJson(page(user(1, "a@example.com"), user(2, "b@example.com")))));
+
+        StepVerifier.create(userClient.getUsersByIds(List.of(1L, 2L)).map(UserDto::getId))
+                .expectNext(1L, 2L)
+                .verifyComplete();
+    }
+
+    @Test
+    void getUsersByIds_shouldSplitIdsIntoChunksAndFollowPages() {
+        wiremock.stubFor(get(urlPathEqualTo(USERS_PATH))
+                .withQueryParam("ids", havingExactly("1", "2"))
+                .withQueryParam("page", absent())
+                .willReturn(okJson(page(false, user(1, "a@example.com")))));
+        wiremock.stubFor(get(urlPathEqualTo(USERS_PATH))
+                .withQueryParam("ids", havingExactly("1", "2"))
+                .withQueryParam("page", equalTo("1"))
+                .willReturn(okJson(page(true, user(2, "b@example.com")))));
+        wiremock.stubFor(get(urlPathEqualTo(USERS_PATH))
+                .withQueryParam("ids", havingExactly("3"))
+                .willReturn(okJson(page(user(3, "c@example.com")))));
+
+        StepVerifier.create(userClient.getUsersByIds(List.of(1L, 2L, 3L)).map(UserDto::getId).collectList())
+                .expectNextMatches(ids -> ids.size() == 3 && ids.containsAll(List.of(1L, 2L, 3L)))
+                .verifyComplete();
+        wiremock.verify(3, getRequestedFor(urlPathEqualTo(USERS_PATH)));
+    }
+
+    @Test
+    void getUserById_shouldAnswerFromHedge_whenFirstAttemptIsSlow() {
+        userClient = client(hedger(true, 100));
+        wiremock.stubFor(get(urlPathEqualTo(USERS_PATH + "/7")).inScenario("hedge")
+                .whenScenarioStateIs(Scenario.STARTED).willSetStateTo("hedged")
+                .willReturn(okJson(user(7, "g@example.com")).withFixedDelay(5_000)));
+        wiremock.stubFor(get(urlPathEqualTo(USERS_PATH + "/7")).inScenario("hedge")
+                .whenScenarioStateIs("hedged")
+                .willReturn(okJson(user(7, "g@example.com"))));
+
+        StepVerifier.create(userClient.getUserById(7L))
+                .expectNextMatches(user -> user.getId() == 7L && !user.isStale())
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+        wiremock.verify(2, getRequestedFor(urlPathEqualTo(USERS_PATH + "/7")));
+        assertThat(meterRegistry.counter("user.client.hedge.sent").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("user.client.hedge.won").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("user.client.latency").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void getUserByEmail_shouldWaitForSlowAnswer_whenHedgeBudgetIsSpent() {
+        userClient = client(hedger(true, 0));
+        wiremock.stubFor(get(urlPathEqualTo(USERS_PATH))
+                .willReturn(okJson(page(user(1, "slow@example.com"))).withFixedDelay(300)));
+
+        StepVerifier.create(userClient.getUserByEmail("slow@example.com"))
+                .expectNextMatches(user -> user.getId() == 1L)
+                .verifyComplete();
+        wiremock.verify(1, getRequestedFor(urlPathEqualTo(USERS_PATH)));
+        assertThat(meterRegistry.counter("user.client.hedge.sent").count()).isZero();
+    }
+
+    @Test
+    void getUsersByIds_shouldRejectEmptyList() {
+        StepVerifier.create(userClient.getUsersByIds(List.of()))
+                .verifyError(IllegalArgumentException.class);
+    }
+
+    private ReactiveUserClientImpl client(UserServiceHedger hedger) {
+        JwtTokenProvider jwtTokenProvider = mock(JwtTokenProvider.class);
+        when(jwtTokenProvider.getCurrentToken()).thenReturn("mock-jwt-token");
+        return new ReactiveUserClientImpl(WebClient.builder().baseUrl(wiremock.baseUrl()).build(),
+                jwtTokenProvider, CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(),
+                TimeLimiterRegistry.ofDefaults(), USERS_PATH, 2, 2,
+                new LastKnownUserStore(100, Duration.ofHours(1)), hedger);
+    }
+
+    private UserServiceHedger hedger(boolean enabled, int budgetPercent) {
+        return new UserServiceHedger(enabled, 0.95, Duration.ofMillis(50), budgetPercent, meterRegistry);
+    }
+
+    private static String user(long id, String email) {
+        return """
+                {"id": %d, "name": "Name", "surname": "Surname", "email": "%s", "birthDate": "1990-01-01"}
+                """.formatted(id, email);
+    }
+
+    private static String page(String... users) {
+        return "{\"content\": [" + String.join(",", users) + "]}";
+    }
+
+    private static String page(boolean last, String... users) {
+        return "{\"content\": [" + String.join(",", users) + "], \"last\": " + last + "}";
+    }
+}
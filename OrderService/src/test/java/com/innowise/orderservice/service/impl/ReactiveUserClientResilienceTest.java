@@ -0,0 +1,180 @@
+package com.innowise.orderservice.service.impl;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import com.innowise.orderservice.config.AppConfig;
+import com.innowise.orderservice.config.JwtTokenProvider;
+import com.innowise.orderservice.exception.ResourceNotFoundException;
+import com.innowise.orderservice.model.dto.userservice.UserDto;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.springboot3.bulkhead.autoconfigure.BulkheadAutoConfiguration;
+import io.github.resilience4j.springboot3.circuitbreaker.autoconfigure.CircuitBreakerAutoConfiguration;
+import io.github.resilience4j.springboot3.timelimiter.autoconfigure.TimeLimiterAutoConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fault injection against the "prod" resilience profile of {@link ReactiveUserClientImpl}: a degraded user-service
+ * must neither keep calls open beyond the time limit nor take more than the bulkhead's share of connections.
+ */
+@SpringBootTest(classes = ReactiveUserClientResilienceTest.ReactiveUserClientContext.class)
+@ActiveProfiles("prod")
+class ReactiveUserClientResilienceTest {
+
+    private static final String USERS_PATH = "/api/v1/users";
+    private static final int CONCURRENT_CALLS = 80;
+    private static final int BULKHEAD = 50;
+    private static final Duration TIME_LIMIT = Duration.ofSeconds(2);
+
+    @RegisterExtension
+    private static final WireMockExtension wiremock = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort().containerThreads(CONCURRENT_CALLS + 20))
+            .build();
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("user-service.url", wiremock::baseUrl);
+        registry.add("user-service.path", () -> USERS_PATH);
+        registry.add("user-service.http.response-timeout", () -> "30s");
+        registry.add("user-service.http.max-per-route", () -> CONCURRENT_CALLS);
+    }
+
+    @Autowired
+    private ReactiveUserClientImpl userClient;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    private CircuitBreaker circuitBreaker;
+
+    /**
+     * Opens the connections of a whole bulkhead once, so the first calls of a test do not pay for starting
+     * the client and would not run into the time limit on their own.
+     */
+    @BeforeEach
+    void setUp() {
+        wiremock.stubFor(get(urlPathEqualTo(USERS_PATH)).willReturn(okJson(page("warm-up@example.com"))));
+        callConcurrently(BULKHEAD, "warm-up@example.com");
+        wiremock.resetAll();
+
+        circuitBreaker = circuitBreakerRegistry.circuitBreaker("user-service");
+        circuitBreaker.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void hangingUpstream_shouldCancelCallsAtTimeLimit_andOpenBreaker() {
+        String email = "hanging@example.com";
+        wiremock.stubFor(get(urlPathEqualTo(USERS_PATH)).willReturn(okJson(page(email)).withFixedDelay(10_000)));
+
+        List<Outcome> outcomes = callConcurrently(20, email);
+
+        assertThat(outcomes).allSatisfy(outcome -> {
+            assertThat(outcome.failure()).isInstanceOf(ResourceNotFoundException.class);
+            assertThat(outcome.elapsed()).isLessThan(TIME_LIMIT.plusSeconds(1));
+        });
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        Outcome shortCircuited = callConcurrently(1, email).get(0);
+        assertThat(shortCircuited.failure()).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(shortCircuited.elapsed()).isLessThan(Duration.ofMillis(200));
+        wiremock.verify(20, getRequestedFor(urlPathEqualTo(USERS_PATH)));
+    }
+
+    @Test
+    void slowUpstream_shouldRejectCallsBeyondBulkheadAtOnce() {
+        String email = "crowded@example.com";
+        wiremock.stubFor(get(urlPathEqualTo(USERS_PATH)).willReturn(okJson(page(email)).withFixedDelay(1000)));
+
+        List<Outcome> outcomes = callConcurrently(CONCURRENT_CALLS, email);
+
+        List<Outcome> rejected = outcomes.stream().filter(outcome -> outcome.failure() != null).toList();
+        assertThat(rejected).hasSize(CONCURRENT_CALLS - BULKHEAD)
+                .allSatisfy(outcome -> {
+                    assertThat(outcome.failure()).isInstanceOf(ResourceNotFoundException.class);
+                    assertThat(outcome.elapsed()).isLessThan(Duration.ofMillis(500));
+                });
+        wiremock.verify(BULKHEAD, getRequestedFor(urlPathEqualTo(USERS_PATH)));
+    }
+
+    /**
+     * Subscribes to all calls at once; each outcome carries the time from its subscription to its signal.
+     */
+    private List<Outcome> callConcurrently(int calls, String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, "token-" + email));
+        return Flux.range(0, calls)
+                .flatMap(call -> Mono.defer(() -> {
+                    long started = System.nanoTime();
+                    return userClient.getUserByEmail(email)
+                            .map(user -> new Outcome(user, null, Duration.ofNanos(System.nanoTime() - started)))
+                            .onErrorResume(ex -> Mono.just(
+                                    new Outcome(null, ex, Duration.ofNanos(System.nanoTime() - started))));
+                }), calls)
+                .collectList()
+                .block(Duration.ofSeconds(30));
+    }
+
+    private static String page(String email) {
+        return """
+                {"content": [{"id": 1, "name": "Alice", "surname": "Smith", "email": "%s"}]}
+                """.formatted(email);
+    }
+
+    private record Outcome(UserDto user, Throwable failure, Duration elapsed) {
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({CircuitBreakerAutoConfiguration.class, BulkheadAutoConfiguration.class,
+            TimeLimiterAutoConfiguration.class})
+    @Import({ReactiveUserClientImpl.class, LastKnownUserStore.class, UserServiceHedger.class, JwtTokenProvider.class})
+    static class ReactiveUserClientContext {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        WebClient userServiceWebClient(@Value("${user-service.url}") String userServiceUrl,
+                                       @Value("${user-service.http.max-per-route}") int maxConnections,
+                                       @Value("${user-service.http.response-timeout}") Duration responseTimeout) {
+            return new AppConfig().userServiceWebClient(WebClient.builder(), userServiceUrl, maxConnections,
+                    Duration.ofSeconds(1), responseTimeout, Duration.ofSeconds(1), Duration.ofSeconds(30),
+                    Duration.ofMinutes(5));
+        }
+    }
+}
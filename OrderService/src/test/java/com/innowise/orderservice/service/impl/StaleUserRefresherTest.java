@@ -0,0 +1,124 @@
+package com.innowise.orderservice.service.impl;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.innowise.orderservice.config.CacheConfig;
+import com.innowise.orderservice.model.dto.userservice.UserDto;
+import com.innowise.orderservice.service.UserClient;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class StaleUserRefresherTest {
+
+    private static final String SERVICE_TOKEN = "service-jwt-token";
+
+    private final UserDto alice = new UserDto(1L, "Alice", "Smith", "alice@example.com",
+            LocalDate.of(1990, 1, 1), List.of());
+    private final UserDto bob = new UserDto(2L, "Bob", "Brown", "bob@example.com",
+            LocalDate.of(1991, 2, 2), List.of());
+
+    private final UserClient delegate = mock(UserClient.class);
+    private final CircuitBreakerRegistry registry = CircuitBreakerRegistry.ofDefaults();
+    private final LastKnownUserStore lastKnownUsers = new LastKnownUserStore(100, Duration.ofHours(1));
+    private final AsyncCache<String, Optional<UserDto>> usersByEmail =
+            CacheConfig.userCache(100, Duration.ofMinutes(1), Duration.ofSeconds(10));
+    private final AsyncCache<Long, Optional<UserDto>> usersById =
+            CacheConfig.userCache(100, Duration.ofMinutes(1), Duration.ofSeconds(10));
+
+    private StaleUserRefresher refresher;
+
+    @BeforeEach
+    void setUp() {
+        refresher = new StaleUserRefresher(lastKnownUsers, delegate, usersByEmail, usersById, registry, SERVICE_TOKEN);
+    }
+
+    @AfterEach
+    void tearDown() {
+        refresher.shutdown();
+    }
+
+    @Test
+    void shouldRefreshUsersServedStale_inOneCallUnderServiceCredential_whenBreakerHalfOpens()
+            throws InterruptedException {
+        lastKnownUsers.remember(alice);
+        lastKnownUsers.remember(bob);
+        UserDto stale = lastKnownUsers.findByEmail("alice@example.com").orElseThrow();
+        lastKnownUsers.findById(2L).orElseThrow();
+        usersByEmail.put("alice@example.com", CompletableFuture.completedFuture(Optional.of(stale)));
+        AtomicReference<Object> refreshToken = new AtomicReference<>();
+        when(delegate.getUsersByIds(anyList())).thenAnswer(invocation -> {
+            refreshToken.set(SecurityContextHolder.getContext().getAuthentication().getCredentials());
+            return List.of(alice, bob);
+        });
+
+        halfOpen();
+
+        verify(delegate, timeout(1000)).getUsersByIds(argThat(ids -> ids.containsAll(List.of(1L, 2L))));
+        awaitUntil(() -> isFresh(usersByEmail.synchronous().getIfPresent("alice@example.com"))
+                && isFresh(usersById.synchronous().getIfPresent(2L)));
+        assertThat(usersByEmail.synchronous().getIfPresent("alice@example.com"))
+                .hasValueSatisfying(user -> assertThat(user.isStale()).isFalse());
+        assertThat(usersById.synchronous().getIfPresent(2L)).contains(bob);
+        assertThat(refreshToken.get()).isEqualTo(SERVICE_TOKEN);
+        assertThat(lastKnownUsers.drainPendingRefresh()).isEmpty();
+    }
+
+    @Test
+    void shouldNotRefresh_whenNoServiceCredentialIsConfigured() throws InterruptedException {
+        refresher.shutdown();
+        refresher = new StaleUserRefresher(lastKnownUsers, delegate, usersByEmail, usersById, registry, "");
+        lastKnownUsers.remember(alice);
+        lastKnownUsers.findById(1L).orElseThrow();
+
+        halfOpen();
+
+        TimeUnit.MILLISECONDS.sleep(100);
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void shouldNotCallUserService_whenNothingWasServedStale() throws InterruptedException {
+        halfOpen();
+
+        TimeUnit.MILLISECONDS.sleep(100);
+        verifyNoInteractions(delegate);
+    }
+
+    private void halfOpen() {
+        CircuitBreaker circuitBreaker = registry.circuitBreaker("user-service");
+        circuitBreaker.transitionToOpenState();
+        circuitBreaker.transitionToHalfOpenState();
+    }
+
+    private static boolean isFresh(Optional<UserDto> cached) {
+        return cached != null && cached.filter(user -> !user.isStale()).isPresent();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package com.innowise.orderservice.service.impl;
 
 import com.innowise.orderservice.config.JwtTokenProvider;
+import com.innowise.orderservice.config.RequestDeadline;
+import com.innowise.orderservice.exception.DeadlineExceededException;
 import com.innowise.orderservice.exception.ResourceNotFoundException;
 import com.innowise.orderservice.model.dto.userservice.UserDto;
 import com.innowise.orderservice.model.dto.userservice.UserPageDto;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpEntity;
@@ -15,11 +18,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -34,7 +39,6 @@ class UserClientImplTest {
     @Mock
     private RestTemplate restTemplate;
 
-    @InjectMocks
     private UserClientImpl userClient;
 
     private final String baseUrl = "http://localhost:8083";
@@ -44,7 +48,10 @@ class UserClientImplTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
 
-        userClient = new UserClientImpl(jwtTokenProvider, baseUrl, apiPath, restTemplate);
+        userClient = new UserClientImpl(jwtTokenProvider, baseUrl, apiPath, restTemplate, 2, 2,
+                new LastKnownUserStore(100, Duration.ofHours(1)),
+                new UserServiceHedger(false, 0.95, Duration.ofMillis(20), 5, new SimpleMeterRegistry()),
+                TimeLimiterRegistry.ofDefaults());
 
         try {
             var field = UserClientImpl.class.getDeclaredField("restTemplate");
@@ -163,10 +170,37 @@ class UserClientImplTest {
         assertThrows(ResourceNotFoundException.class, () -> userClient.getUsersByIds(ids));
     }
 
+    @Test
+    void testGetUsersByIds_SplitsIdsIntoChunks() {
+        when(restTemplate.exchange(eq(baseUrl + apiPath + "?ids=1&ids=2"), eq(HttpMethod.GET), any(HttpEntity.class), eq(UserPageDto.class)))
+                .thenReturn(new ResponseEntity<>(page(true, user(1L), user(2L)), HttpStatus.OK));
+        when(restTemplate.exchange(eq(baseUrl + apiPath + "?ids=3"), eq(HttpMethod.GET), any(HttpEntity.class), eq(UserPageDto.class)))
+                .thenReturn(new ResponseEntity<>(page(true, user(3L)), HttpStatus.OK));
+
+        List<UserDto> result = userClient.getUsersByIds(List.of(1L, 2L, 3L, 2L));
+
+        assertEquals(List.of(1L, 2L, 3L), result.stream().map(UserDto::getId).toList());
+        verify(jwtTokenProvider, times(1)).getCurrentToken();
+    }
+
+    @Test
+    void testGetUsersByIds_FollowsPagesUntilAllIdsResolved() {
+        String expectedUrl = baseUrl + apiPath + "?ids=1&ids=2";
+        when(restTemplate.exchange(eq(expectedUrl), eq(HttpMethod.GET), any(HttpEntity.class), eq(UserPageDto.class)))
+                .thenReturn(new ResponseEntity<>(page(false, user(1L)), HttpStatus.OK));
+        when(restTemplate.exchange(eq(expectedUrl + "&page=1"), eq(HttpMethod.GET), any(HttpEntity.class), eq(UserPageDto.class)))
+                .thenReturn(new ResponseEntity<>(page(false, user(2L)), HttpStatus.OK));
+
+        List<UserDto> result = userClient.getUsersByIds(List.of(1L, 2L));
+
+        assertEquals(List.of(1L, 2L), result.stream().map(UserDto::getId).toList());
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.GET), any(), eq(UserPageDto.class));
+    }
+
     @Test
     void testFallbackGetUser() {
         Throwable cause = new RuntimeException("Timeout");
-        assertThrows(ResourceNotFoundException.class, () -> userClient.fallbackGetUser(cause));
+        assertThrows(ResourceNotFoundException.class, () -> userClient.fallbackGetUser("user@example.com", cause));
     }
 
     @Test
@@ -175,6 +209,18 @@ class UserClientImplTest {
         assertThrows(ResourceNotFoundException.class, () -> userClient.fallbackGetUserById(42L, cause));
     }
 
+    @Test
+    void testFallbackGetUserById_ServesLastKnownUserAsStale() {
+        String expectedUrl = baseUrl + apiPath + "/1";
+        when(restTemplate.getForObject(expectedUrl, UserDto.class)).thenReturn(user(1L));
+        userClient.getUserById(1L);
+
+        UserDto result = userClient.fallbackGetUserById(1L, new RuntimeException("Circuit open"));
+
+        assertEquals(1L, result.getId().longValue());
+        assertTrue(result.isStale());
+    }
+
     @Test
     void testFallbackGetUsers() {
         Throwable cause = new RuntimeException("Circuit open");
@@ -184,4 +230,44 @@ class UserClientImplTest {
         });
     }
 
+    @Test
+    void testGetUserById_GivesUpAtRequestDeadline() {
+        String expectedUrl = baseUrl + apiPath + "/1";
+        when(restTemplate.getForObject(expectedUrl, UserDto.class)).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return user(1L);
+        });
+        RequestDeadline.set(Duration.ofMillis(100));
+        try {
+            long started = System.nanoTime();
+            assertThrows(DeadlineExceededException.class, () -> userClient.getUserById(1L));
+            assertTrue(Duration.ofNanos(System.nanoTime() - started).compareTo(Duration.ofSeconds(1)) < 0);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    @Test
+    void testFallbackGetUserById_DoesNotServeStaleUser_WhenDeadlineExceeded() {
+        String expectedUrl = baseUrl + apiPath + "/1";
+        when(restTemplate.getForObject(expectedUrl, UserDto.class)).thenReturn(user(1L));
+        userClient.getUserById(1L);
+
+        assertThrows(DeadlineExceededException.class, () -> userClient.fallbackGetUserById(1L,
+                new DeadlineExceededException("Request deadline exceeded")));
+    }
+
+    private static UserDto user(Long id) {
+        UserDto user = new UserDto();
+        user.setId(id);
+        user.setEmail("user" + id + "@example.com");
+        return user;
+    }
+
+    private static UserPageDto page(boolean last, UserDto... users) {
+        UserPageDto page = new UserPageDto();
+        page.setContent(List.of(users));
+        page.setLast(last);
+        return page;
+    }
 }
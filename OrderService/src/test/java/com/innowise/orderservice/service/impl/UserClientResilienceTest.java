@@ -0,0 +1,214 @@
+package com.innowise.orderservice.service.impl;
+
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import com.innowise.orderservice.config.AppConfig;
+import com.innowise.orderservice.config.JwtTokenProvider;
+import com.innowise.orderservice.exception.ResourceNotFoundException;
+import com.innowise.orderservice.model.dto.userservice.UserDto;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.springboot3.bulkhead.autoconfigure.BulkheadAutoConfiguration;
+import io.github.resilience4j.springboot3.circuitbreaker.autoconfigure.CircuitBreakerAutoConfiguration;
+import io.github.resilience4j.springboot3.timelimiter.autoconfigure.TimeLimiterAutoConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fault injection against the "prod" resilience profile of {@link UserClientImpl}: a degraded user-service must
+ * neither hold request threads beyond the time limit nor take more than the bulkhead's share of them.
+ */
+@SpringBootTest(classes = UserClientResilienceTest.UserClientContext.class)
+@ActiveProfiles("prod")
+class UserClientResilienceTest {
+
+    private static final String USERS_PATH = "/api/v1/users";
+    private static final int REQUEST_THREADS = 80;
+    private static final int BULKHEAD = 50;
+    private static final Duration TIME_LIMIT = Duration.ofSeconds(2);
+
+    @RegisterExtension
+    private static final WireMockExtension wiremock = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort().containerThreads(REQUEST_THREADS + 20))
+            .build();
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("user-service.url", wiremock::baseUrl);
+        registry.add("user-service.path", () -> USERS_PATH);
+    }
+
+    @Autowired
+    private UserClientImpl userClient;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = circuitBreakerRegistry.circuitBreaker("user-service");
+        circuitBreaker.reset();
+    }
+
+    @Test
+    void hangingUpstream_shouldReleaseRequestThreadsAtTimeLimit_andOpenBreaker() throws Exception {
+        String email = "hanging@example.com";
+        wiremock.stubFor(get(urlPathEqualTo(USERS_PATH)).willReturn(okJson(page(email)).withFixedDelay(10_000)));
+
+        List<Outcome> outcomes = callConcurrently(20, email);
+
+        assertThat(outcomes).allSatisfy(outcome -> {
+            assertThat(outcome.failure()).isInstanceOf(ResourceNotFoundException.class);
+            assertThat(outcome.elapsed()).isLessThan(TIME_LIMIT.plusSeconds(1));
+        });
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        Outcome shortCircuited = callAs(email);
+        assertThat(shortCircuited.failure()).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(shortCircuited.elapsed()).isLessThan(Duration.ofMillis(200));
+        wiremock.verify(20, getRequestedFor(urlPathEqualTo(USERS_PATH)));
+    }
+
+    @Test
+    void slowUpstream_shouldRejectCallsBeyondBulkheadAtOnce() throws Exception {
+        String email = "crowded@example.com";
+        wiremock.stubFor(get(urlPathEqualTo(USERS_PATH)).willReturn(okJson(page(email)).withFixedDelay(1500)));
+
+        List<Outcome> outcomes = callConcurrently(REQUEST_THREADS, email);
+
+        List<Outcome> rejected = outcomes.stream().filter(outcome -> outcome.failure() != null).toList();
+        assertThat(rejected).hasSize(REQUEST_THREADS - BULKHEAD)
+                .allSatisfy(outcome -> assertThat(outcome.elapsed()).isLessThan(Duration.ofMillis(500)));
+        wiremock.verify(BULKHEAD, getRequestedFor(urlPathEqualTo(USERS_PATH))
+                .withHeader("Authorization", equalTo("Bearer token-" + email)));
+    }
+
+    @Test
+    void slowButSuccessfulUpstream_shouldOpenBreakerOnSlowCallRate_andServeLastKnownUser() throws Exception {
+        String email = "slow@example.com";
+        wiremock.stubFor(get(urlPathEqualTo(USERS_PATH)).willReturn(okJson(page(email)).withFixedDelay(1200)));
+
+        List<Outcome> outcomes = callConcurrently(10, email);
+
+        assertThat(outcomes).allSatisfy(outcome -> assertThat(outcome.user().isStale()).isFalse());
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        Outcome shortCircuited = callAs(email);
+        assertThat(shortCircuited.user().isStale()).isTrue();
+        assertThat(shortCircuited.elapsed()).isLessThan(Duration.ofMillis(200));
+        wiremock.verify(10, getRequestedFor(urlPathEqualTo(USERS_PATH)));
+    }
+
+    @Test
+    void resettingUpstream_shouldOpenBreakerOnFailureRate() throws Exception {
+        wiremock.stubFor(get(urlPathEqualTo(USERS_PATH))
+                .willReturn(aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER)));
+
+        List<Outcome> outcomes = callConcurrently(10, "resetting@example.com");
+
+        assertThat(outcomes).allSatisfy(outcome ->
+                assertThat(outcome.failure()).isInstanceOf(ResourceNotFoundException.class));
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    private List<Outcome> callConcurrently(int requests, String email) throws InterruptedException, ExecutionException {
+        ExecutorService requestThreads = Executors.newFixedThreadPool(requests);
+        try {
+            List<Callable<Outcome>> calls = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                calls.add(() -> callAs(email));
+            }
+            List<Outcome> outcomes = new ArrayList<>();
+            for (Future<Outcome> outcome : requestThreads.invokeAll(calls)) {
+                outcomes.add(outcome.get());
+            }
+            return outcomes;
+        } finally {
+            requestThreads.shutdownNow();
+        }
+    }
+
+    private Outcome callAs(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, "token-" + email));
+        long started = System.nanoTime();
+        try {
+            UserDto user = userClient.getUserByEmail(email);
+            return new Outcome(user, null, Duration.ofNanos(System.nanoTime() - started));
+        } catch (RuntimeException ex) {
+            return new Outcome(null, ex, Duration.ofNanos(System.nanoTime() - started));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static String page(String email) {
+        return """
+                {"content": [{"id": 1, "name": "Alice", "surname": "Smith", "email": "%s"}]}
+                """.formatted(email);
+    }
+
+    private record Outcome(UserDto user, RuntimeException failure, Duration elapsed) {
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({AopAutoConfiguration.class, CircuitBreakerAutoConfiguration.class,
+            BulkheadAutoConfiguration.class, TimeLimiterAutoConfiguration.class})
+    @Import({UserClientImpl.class, LastKnownUserStore.class, UserServiceHedger.class, JwtTokenProvider.class})
+    static class UserClientContext {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        RestTemplate restTemplate(MeterRegistry meterRegistry,
+                                  @Value("${user-service.http.max-per-route}") int maxPerRoute,
+                                  @Value("${user-service.http.read-timeout}") Duration readTimeout,
+                                  @Value("${user-service.http.response-timeout}") Duration responseTimeout) {
+            AppConfig appConfig = new AppConfig();
+            return appConfig.restTemplate(appConfig.userServiceHttpClient(
+                    appConfig.userServiceConnectionManager(maxPerRoute, maxPerRoute, Duration.ofSeconds(1),
+                            readTimeout, Duration.ofMinutes(5), meterRegistry),
+                    responseTimeout, Duration.ofSeconds(1), Duration.ofSeconds(30)));
+        }
+    }
+}
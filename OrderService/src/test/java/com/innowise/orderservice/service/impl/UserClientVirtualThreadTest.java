@@ -0,0 +1,121 @@
+package com.innowise.orderservice.service.impl;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import com.innowise.orderservice.config.AppConfig;
+import com.innowise.orderservice.config.JwtTokenProvider;
+import com.innowise.orderservice.model.dto.userservice.UserDto;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserClientVirtualThreadTest {
+
+    private static final String USERS_PATH = "/api/v1/users";
+    private static final String THREAD_PREFIX = "vt-user-client-";
+    private static final int CALLERS = 100;
+    private static final int UPSTREAM_DELAY_MS = 200;
+
+    @RegisterExtension
+    private static final WireMockExtension wiremock = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort().containerThreads(CALLERS + 20))
+            .build();
+
+    private final CircuitBreaker circuitBreaker = CircuitBreakerRegistry.ofDefaults().circuitBreaker("user-service");
+    private final List<RecordedEvent> pinnedEvents = new CopyOnWriteArrayList<>();
+
+    private CloseableHttpClient httpClient;
+    private UserClientImpl userClient;
+    private RecordingStream recording;
+
+    @BeforeEach
+    void setUp() {
+        AppConfig appConfig = new AppConfig();
+        httpClient = appConfig.userServiceHttpClient(
+                appConfig.userServiceConnectionManager(CALLERS, CALLERS, Duration.ofSeconds(2),
+                        Duration.ofSeconds(5), Duration.ofMinutes(5), new SimpleMeterRegistry()),
+                Duration.ofSeconds(5), Duration.ofSeconds(5), Duration.ofSeconds(30));
+        userClient = new UserClientImpl(new JwtTokenProvider(), wiremock.baseUrl(), USERS_PATH,
+                appConfig.restTemplate(httpClient), 100, 4, new LastKnownUserStore(100, Duration.ofHours(1)),
+                new UserServiceHedger(false, 0.95, Duration.ofMillis(20), 5, new SimpleMeterRegistry()),
+                TimeLimiterRegistry.of(TimeLimiterConfig.custom().timeoutDuration(Duration.ofSeconds(10)).build()));
+
+        recording = new RecordingStream();
+        recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+        recording.onEvent("jdk.VirtualThreadPinned", event -> {
+            if (event.getThread() != null && event.getThread().getJavaName().startsWith(THREAD_PREFIX)) {
+                pinnedEvents.add(event);
+            }
+        });
+        recording.startAsync();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        recording.close();
+        httpClient.close();
+    }
+
+    @Test
+    void getUserByEmail_shouldSendEachCallersTokenWithoutPinning_onVirtualThreads() throws Exception {
+        wiremock.stubFor(get(urlPathEqualTo(USERS_PATH)).willReturn(okJson("""
+                {"content": [{"id": 1, "email": "user@example.com"}]}
+                """).withFixedDelay(UPSTREAM_DELAY_MS)));
+
+        try (ExecutorService callers = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name(THREAD_PREFIX, 0).factory())) {
+            List<Future<UserDto>> results = IntStream.range(0, CALLERS)
+                    .mapToObj(caller -> callers.submit(() -> callAs(caller)))
+                    .toList();
+            for (Future<UserDto> result : results) {
+                assertThat(result.get().getId()).isEqualTo(1L);
+            }
+        }
+        recording.stop();
+
+        List<LoggedRequest> requests = wiremock.findAll(getRequestedFor(urlPathEqualTo(USERS_PATH)));
+        assertThat(requests).hasSize(CALLERS).allSatisfy(request -> {
+            String caller = request.queryParameter("email").firstValue().replaceAll("\\D", "");
+            assertThat(request.getHeader("Authorization")).isEqualTo("Bearer token-" + caller);
+        });
+        assertThat(circuitBreaker.getMetrics().getNumberOfSuccessfulCalls()).isEqualTo(CALLERS);
+        assertThat(pinnedEvents).isEmpty();
+    }
+
+    private UserDto callAs(int caller) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user" + caller + "@example.com", "token-" + caller));
+        try {
+            return circuitBreaker.executeSupplier(() -> userClient.getUserByEmail("user" + caller + "@example.com"));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
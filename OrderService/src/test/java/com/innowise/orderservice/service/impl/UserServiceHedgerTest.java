@@ -0,0 +1,220 @@
+package com.innowise.orderservice.service.impl;
+
+import com.innowise.orderservice.exception.UserNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserServiceHedgerTest {
+
+    private static final Duration MIN_DELAY = Duration.ofMillis(50);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UserServiceHedger hedger = hedger(true, 100);
+
+    @AfterEach
+    void tearDown() {
+        hedger.shutdown();
+    }
+
+    @Test
+    void call_shouldRunOnCallingThread_whenDisabled() {
+        hedger = hedger(false, 100);
+        Thread caller = Thread.currentThread();
+
+        assertThat(hedger.call(() -> Thread.currentThread() == caller)).isTrue();
+        assertThat(hedgesSent()).isZero();
+    }
+
+    @Test
+    void call_shouldNotHedge_whenFirstAttemptAnswersInTime() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThat(hedger.call(() -> attempts.incrementAndGet())).isEqualTo(1);
+        assertThat(attempts).hasValue(1);
+        assertThat(hedgesSent()).isZero();
+    }
+
+    @Test
+    void call_shouldTakeHedge_andCancelSlowFirstAttempt() throws InterruptedException {
+        CountDownLatch firstAttemptCancelled = new CountDownLatch(1);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String answer = hedger.call(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                try {
+                    TimeUnit.SECONDS.sleep(10);
+                } catch (InterruptedException ex) {
+                    firstAttemptCancelled.countDown();
+                }
+                return "first";
+            }
+            return "hedge";
+        });
+
+        assertThat(answer).isEqualTo("hedge");
+        assertThat(firstAttemptCancelled.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(hedgesSent()).isEqualTo(1);
+        assertThat(hedgesWon()).isEqualTo(1);
+    }
+
+    @Test
+    void call_shouldTakeFirstAttempt_whenHedgeFails() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String answer = hedger.call(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                sleep(MIN_DELAY.multipliedBy(3));
+                return "first";
+            }
+            throw new ResourceAccessException("Connection reset");
+        });
+
+        assertThat(answer).isEqualTo("first");
+        assertThat(hedgesSent()).isEqualTo(1);
+        assertThat(hedgesWon()).isZero();
+    }
+
+    @Test
+    void call_shouldRethrow_whenBothAttemptsFail() {
+        Supplier<String> failing = () -> {
+            sleep(MIN_DELAY.multipliedBy(2));
+            throw new ResourceAccessException("Read timed out");
+        };
+
+        assertThatThrownBy(() -> hedger.call(failing))
+                .isInstanceOf(ResourceAccessException.class)
+                .hasMessage("Read timed out");
+        assertThat(hedgesSent()).isEqualTo(1);
+    }
+
+    @Test
+    void call_shouldStayWithinHedgeBudget() {
+        hedger = hedger(true, 1);
+        for (int i = 0; i < 99; i++) {
+            hedger.call(() -> "user");
+        }
+
+        assertThat(hedger.call(slowFirstAttempt(Duration.ofSeconds(10)))).isEqualTo("hedge");
+        assertThat(hedger.call(slowFirstAttempt(MIN_DELAY.multipliedBy(3)))).isEqualTo("first");
+        assertThat(hedgesSent()).isEqualTo(1);
+    }
+
+    @Test
+    void hedge_shouldTakeHedge_andCancelSlowFirstAttempt() {
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch firstAttemptCancelled = new CountDownLatch(1);
+        Mono<String> request = Mono.defer(() -> attempts.incrementAndGet() == 1
+                ? Mono.just("first").delayElement(Duration.ofSeconds(10)).doOnCancel(firstAttemptCancelled::countDown)
+                : Mono.just("hedge"));
+
+        StepVerifier.create(hedger.hedge(request))
+                .expectNext("hedge")
+                .verifyComplete();
+        assertThat(firstAttemptCancelled.getCount()).isZero();
+        assertThat(hedgesSent()).isEqualTo(1);
+        assertThat(hedgesWon()).isEqualTo(1);
+    }
+
+    @Test
+    void hedge_shouldNotHedge_whenFirstAttemptFailsBeforeHedgeDelay() {
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> request = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(new UserNotFoundException("User not found"));
+        });
+
+        StepVerifier.create(hedger.hedge(request))
+                .verifyError(UserNotFoundException.class);
+        assertThat(attempts).hasValue(1);
+        assertThat(hedgesSent()).isZero();
+    }
+
+    @Test
+    void hedge_shouldPassOnErrorOfFirstAttempt_whenBothAttemptsFail() {
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> request = Mono.defer(() -> Mono.delay(MIN_DELAY.multipliedBy(2))
+                .then(Mono.error(new ResourceAccessException("Attempt " + attempts.incrementAndGet() + " failed"))));
+
+        StepVerifier.create(hedger.hedge(request))
+                .expectErrorSatisfies(ex -> assertThat(ex)
+                        .isInstanceOf(ResourceAccessException.class)
+                        .hasMessage("Attempt 1 failed"))
+                .verify();
+        assertThat(hedgesSent()).isEqualTo(1);
+    }
+
+    @Test
+    void hedge_shouldWaitForFirstAttempt_whenNoBudgetIsLeft() {
+        hedger = hedger(true, 0);
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> request = Mono.defer(() -> Mono.just("attempt " + attempts.incrementAndGet())
+                .delayElement(MIN_DELAY.multipliedBy(3)));
+
+        StepVerifier.create(hedger.hedge(request))
+                .expectNext("attempt 1")
+                .verifyComplete();
+        assertThat(hedgesSent()).isZero();
+    }
+
+    @Test
+    void hedgeDelay_shouldFollowObservedPercentile() {
+        hedger = hedger(true, 0);
+        for (int i = 0; i < 20; i++) {
+            hedger.call(() -> {
+                sleep(MIN_DELAY.multipliedBy(2));
+                return "user";
+            });
+        }
+
+        assertThat(hedger.hedgeDelay()).isGreaterThan(MIN_DELAY);
+        assertThat(hedgesSent()).isZero();
+    }
+
+    private UserServiceHedger hedger(boolean enabled, int budgetPercent) {
+        return new UserServiceHedger(enabled, 0.95, MIN_DELAY, budgetPercent, meterRegistry);
+    }
+
+    private double hedgesSent() {
+        return meterRegistry.counter("user.client.hedge.sent").count();
+    }
+
+    private double hedgesWon() {
+        return meterRegistry.counter("user.client.hedge.won").count();
+    }
+
+    /**
+     * The first attempt answers "first" after the given time, unless it is cancelled; later attempts answer
+     * "hedge" at once.
+     */
+    private static Supplier<String> slowFirstAttempt(Duration firstAttemptTime) {
+        AtomicInteger attempts = new AtomicInteger();
+        return () -> {
+            if (attempts.incrementAndGet() == 1) {
+                sleep(firstAttemptTime);
+                return "first";
+            }
+            return "hedge";
+        };
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(duration.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
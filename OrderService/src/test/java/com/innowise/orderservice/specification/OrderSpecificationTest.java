@@ -1,6 +1,7 @@
 package com.innowise.orderservice.specification;
 
 import com.innowise.orderservice.model.OrderStatus;
+import com.innowise.orderservice.model.dto.OrderCursor;
 import com.innowise.orderservice.model.dto.OrderFilterDto;
 import com.innowise.orderservice.model.entity.Order;
 import jakarta.persistence.criteria.CriteriaBuilder;
@@ -14,6 +15,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -81,4 +83,40 @@ class OrderSpecificationTest {
         assertEquals(statusPredicate, result);
     }
 
+    @Test
+    void shouldReturnNullWhenNoCursorProvided() {
+        Specification<Order> spec = OrderSpecification.after(null);
+
+        Predicate result = spec.toPredicate(root, query, cb);
+
+        assertNull(result);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldSeekAfterCursor() {
+        LocalDate date = LocalDate.of(2025, 10, 3);
+        OrderCursor cursor = new OrderCursor(date, 42L);
+        Specification<Order> spec = OrderSpecification.after(cursor);
+
+        Path<LocalDate> datePath = mock(Path.class);
+        Path<Long> keyPath = mock(Path.class);
+        when(root.<LocalDate>get("creationDate")).thenReturn(datePath);
+        when(root.<Long>get("id")).thenReturn(keyPath);
+
+        Predicate upToDate = mock(Predicate.class);
+        Predicate beforeDate = mock(Predicate.class);
+        Predicate beforeId = mock(Predicate.class);
+        Predicate tail = mock(Predicate.class);
+        Predicate seek = mock(Predicate.class);
+        when(cb.lessThanOrEqualTo(datePath, date)).thenReturn(upToDate);
+        when(cb.lessThan(datePath, date)).thenReturn(beforeDate);
+        when(cb.lessThan(keyPath, 42L)).thenReturn(beforeId);
+        when(cb.or(beforeDate, beforeId)).thenReturn(tail);
+        when(cb.and(upToDate, tail)).thenReturn(seek);
+
+        Predicate result = spec.toPredicate(root, query, cb);
+
+        assertEquals(seek, result);
+    }
 }